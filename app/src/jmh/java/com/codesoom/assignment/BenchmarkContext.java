@@ -0,0 +1,71 @@
+package com.codesoom.assignment;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 벤치마크용 애플리케이션을 메모리 H2 위에서 웹 서버 없이 띄웁니다.
+ */
+public final class BenchmarkContext {
+    /**
+     * JDBC 로 넣는 행의 첫 id 입니다. 시퀀스가 만드는 id 와 겹치지 않도록 크게 잡습니다.
+     */
+    public static final long FIRST_INSERTED_ID = 1_000_000_000L;
+
+    private static final List<String> DEFAULT_ARGS = List.of(
+            "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+            "--spring.jpa.hibernate.ddl-auto=create-drop",
+            "--spring.main.banner-mode=off",
+            "--logging.level.root=warn",
+            // bcrypt 가 결과를 덮지 않도록 최소 cost 로 해싱합니다.
+            "--password-hashing.strength=4"
+    );
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * application.yml 보다 우선하도록 설정을 명령행 인자로 넘깁니다.
+     */
+    public static ConfigurableApplicationContext start(String... properties) {
+        List<String> args = new ArrayList<>(DEFAULT_ARGS);
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+
+        return new SpringApplicationBuilder(App.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(new String[0]));
+    }
+
+    /**
+     * JPA 를 거치지 않고 FIRST_INSERTED_ID 부터 count 개의 user 를 JDBC 배치로 넣습니다.
+     */
+    public static void insertUsers(ConfigurableApplicationContext context, int count) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (long id = FIRST_INSERTED_ID; id < FIRST_INSERTED_ID + count; id += 1) {
+            rows.add(new Object[]{id, id + "@benchmark.com", "user" + id, "password"});
+        }
+
+        context.getBean(JdbcTemplate.class).batchUpdate(
+                "insert into user (id, email, name, password) values (?, ?, ?, ?)", rows);
+    }
+
+    /**
+     * JPA 를 거치지 않고 FIRST_INSERTED_ID 부터 count 개의 상품을 JDBC 배치로 넣습니다.
+     */
+    public static void insertProducts(ConfigurableApplicationContext context, int count) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (long id = FIRST_INSERTED_ID; id < FIRST_INSERTED_ID + count; id += 1) {
+            rows.add(new Object[]{id, "쥐돌이 " + id, "냥이월드 " + (id % 10), (int) (id % 100) * 100, 0L});
+        }
+
+        context.getBean(JdbcTemplate.class).batchUpdate(
+                "insert into product (id, name, maker, price, version) values (?, ?, ?, ?, ?)", rows);
+    }
+}
@@ -0,0 +1,74 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.BenchmarkContext;
+import com.codesoom.assignment.domain.UserRepository;
+import com.codesoom.assignment.infra.JpaProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 한 문장 DELETE 와 엔티티를 하나씩 지우는 CrudRepository.deleteAll 을 비교합니다.
+ * 100만 건은 -p rows=1000000 으로 실행합니다. crud 는 수 분이 걸립니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DeleteAllBenchmark {
+    @Param({"100000"})
+    public int rows;
+
+    @Param({"bulk", "crud"})
+    public String strategy;
+
+    private ConfigurableApplicationContext context;
+    private UserCommandService userCommandService;
+    private ProductService productService;
+    private UserRepository userRepository;
+    private JpaProductRepository productRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        userCommandService = context.getBean(UserCommandService.class);
+        productService = context.getBean(ProductService.class);
+        userRepository = context.getBean(UserRepository.class);
+        productRepository = context.getBean(JpaProductRepository.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void insertRows() {
+        userCommandService.deleteAll();
+        productService.deleteAll();
+
+        BenchmarkContext.insertUsers(context, rows);
+        BenchmarkContext.insertProducts(context, rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void deleteAll() {
+        if (strategy.equals("bulk")) {
+            userCommandService.deleteAll();
+            productService.deleteAll();
+            return;
+        }
+
+        userRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+}
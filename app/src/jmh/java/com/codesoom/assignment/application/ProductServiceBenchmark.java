@@ -0,0 +1,98 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.BenchmarkContext;
+import com.codesoom.assignment.domain.Product;
+import com.codesoom.assignment.dto.ProductData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상품 조회, 등록과 검색 색인을 LIKE 검색과 비교합니다.
+ * cacheType=none 이면 캐시 없이 매번 DB 를 읽습니다.
+ * 상품 수가 늘 때 어떻게 바뀌는지 보도록 100만 건도 잽니다. 빠르게 보려면 -p productCount=10000 으로 실행합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductServiceBenchmark {
+    @Param({"caffeine", "none"})
+    public String cacheType;
+
+    @Param({"10000", "1000000"})
+    public int productCount;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private EntityManagerFactory entityManagerFactory;
+    private ProductData productData;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("spring.cache.type=" + cacheType);
+        BenchmarkContext.insertProducts(context, productCount);
+
+        productService = context.getBean(ProductService.class);
+        productService.indexProducts();
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+
+        productData = ProductData.builder()
+                .name("쥐돌이")
+                .maker("냥이월드")
+                .price(5000)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Product> getProducts() {
+        return productService.getProducts();
+    }
+
+    @Benchmark
+    public Product getProduct() {
+        return productService.getProduct(BenchmarkContext.FIRST_INSERTED_ID);
+    }
+
+    @Benchmark
+    public Product createProduct() {
+        return productService.createProduct(productData);
+    }
+
+    @Benchmark
+    public List<Product> searchProducts() {
+        return productService.searchProducts("냥이월드 7", 20);
+    }
+
+    @Benchmark
+    public List<Product> searchProductsWithLike() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.createQuery("select p from Product p" +
+                            " where lower(p.name) like :query or lower(p.maker) like :query" +
+                            " order by p.id", Product.class)
+                    .setParameter("query", "%냥이월드 7%")
+                    .setMaxResults(20)
+                    .getResultList();
+        } finally {
+            entityManager.close();
+        }
+    }
+}
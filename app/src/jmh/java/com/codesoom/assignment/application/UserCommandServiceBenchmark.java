@@ -0,0 +1,104 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.BenchmarkContext;
+import com.codesoom.assignment.domain.User;
+import com.codesoom.assignment.dto.UserCreateRequest;
+import com.codesoom.assignment.dto.UserDeleteReport;
+import com.codesoom.assignment.dto.UserUpdateRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * user 가입, 수정과 여러 user 삭제를 측정합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserCommandServiceBenchmark {
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private UserCommandService userCommandService;
+    private Long userId;
+    private UserUpdateRequest updateRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        userCommandService = context.getBean(UserCommandService.class);
+
+        userId = userCommandService.createUser(UserCreateRequest.builder()
+                .email("update@benchmark.com")
+                .name("김 코")
+                .password("password")
+                .build()).getId();
+
+        updateRequest = UserUpdateRequest.builder()
+                .name("김 딩")
+                .password("password")
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public User createUser() {
+        return userCommandService.createUser(UserCreateRequest.builder()
+                .email("create" + sequence.incrementAndGet() + "@benchmark.com")
+                .name("김 코")
+                .password("password")
+                .build());
+    }
+
+    @Benchmark
+    public User updateUser() {
+        return userCommandService.updateUser(userId, updateRequest);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public UserDeleteReport deleteUsers(DeleteState state) {
+        return userCommandService.deleteUsers(state.ids);
+    }
+
+    /**
+     * 요청한 id 중 절반만 저장된 상태에서 삭제합니다.
+     */
+    @State(Scope.Benchmark)
+    public static class DeleteState {
+        @Param({"10000"})
+        public int idCount;
+
+        private Set<Long> ids;
+
+        @Setup(Level.Invocation)
+        public void setUp(UserCommandServiceBenchmark benchmark) {
+            benchmark.userCommandService.deleteAll();
+            BenchmarkContext.insertUsers(benchmark.context, idCount / 2);
+
+            ids = new HashSet<>();
+            long firstId = BenchmarkContext.FIRST_INSERTED_ID;
+            for (long id = firstId; id < firstId + idCount; id += 1) {
+                ids.add(id);
+            }
+        }
+    }
+}
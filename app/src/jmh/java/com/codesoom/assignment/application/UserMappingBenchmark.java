@@ -0,0 +1,59 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.domain.User;
+import com.codesoom.assignment.dto.UserCreateRequest;
+import com.github.dozermapper.core.DozerBeanMapperBuilder;
+import com.github.dozermapper.core.Mapper;
+import com.github.dozermapper.core.loader.api.BeanMappingBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserCommandService 의 명시적 매핑을 예전 Dozer 매핑과 비교합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserMappingBenchmark {
+    private final UserCreateRequest request = UserCreateRequest.builder()
+            .email("a@a.com")
+            .name("김 코")
+            .password("password")
+            .build();
+
+    private Mapper dozerMapper;
+
+    @Setup
+    public void setUp() {
+        dozerMapper = DozerBeanMapperBuilder.create()
+                .withMappingBuilder(new BeanMappingBuilder() {
+                    @Override
+                    protected void configure() {
+                        mapping(type(UserCreateRequest.class).accessible(true),
+                                type(User.class).accessible(true));
+                    }
+                })
+                .build();
+    }
+
+    @Benchmark
+    public User explicit() {
+        return User.builder()
+                .email(request.getEmail())
+                .name(request.getName())
+                .password(request.getPassword())
+                .build();
+    }
+
+    @Benchmark
+    public User dozer() {
+        return dozerMapper.map(request, User.class);
+    }
+}
@@ -0,0 +1,149 @@
+package com.codesoom.assignment.dto;
+
+import com.codesoom.assignment.config.ProductProtobufHttpMessageConverter;
+import com.codesoom.assignment.domain.Product;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상품 목록을 JSON, Smile, CBOR, protobuf 로 쓰고 읽는 시간을 비교합니다.
+ * 형식마다 한 번 쓴 크기를 Setup 에서 출력합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductResponseFormatBenchmark {
+    private static final TypeReference<List<ProductData>> PRODUCT_DATA_LIST =
+            new TypeReference<>() {
+            };
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    @Param({"json", "smile", "cbor", "protobuf"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private ProductProtobufHttpMessageConverter protobufConverter;
+    private List<ProductResponse> responses;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = objectMapper(format);
+        protobufConverter = new ProductProtobufHttpMessageConverter();
+
+        responses = new ArrayList<>(size);
+        for (long id = 1; id <= size; id += 1) {
+            responses.add(new ProductResponse(Product.builder()
+                    .id(id)
+                    .name("쥐돌이 " + id)
+                    .maker("냥이월드")
+                    .price(5000)
+                    .imageUrl("https://example.com/products/" + id + ".png")
+                    .build()));
+        }
+
+        encoded = encode();
+        System.out.println(format + " " + size + " products: " + encoded.length + " bytes");
+    }
+
+    private ObjectMapper objectMapper(String format) {
+        switch (format) {
+            case "smile":
+                return Jackson2ObjectMapperBuilder.smile().build();
+            case "cbor":
+                return Jackson2ObjectMapperBuilder.cbor().build();
+            default:
+                return Jackson2ObjectMapperBuilder.json().build();
+        }
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        if (!format.equals("protobuf")) {
+            return objectMapper.writeValueAsBytes(responses);
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        protobufConverter.write(responses, ProductProtobufHttpMessageConverter.APPLICATION_PROTOBUF,
+                new HttpOutputMessage() {
+                    private final HttpHeaders headers = new HttpHeaders();
+
+                    @Override
+                    public OutputStream getBody() {
+                        return output;
+                    }
+
+                    @Override
+                    public HttpHeaders getHeaders() {
+                        return headers;
+                    }
+                });
+        return output.toByteArray();
+    }
+
+    @Benchmark
+    public List<ProductData> decode() throws IOException {
+        if (!format.equals("protobuf")) {
+            return objectMapper.readValue(encoded, PRODUCT_DATA_LIST);
+        }
+
+        List<ProductData> products = new ArrayList<>(size);
+        CodedInputStream input = CodedInputStream.newInstance(encoded);
+        while (!input.isAtEnd()) {
+            input.readTag();
+            int limit = input.pushLimit(input.readRawVarint32());
+            products.add(decodeProduct(input));
+            input.popLimit(limit);
+        }
+        return products;
+    }
+
+    private ProductData decodeProduct(CodedInputStream input) throws IOException {
+        ProductData product = new ProductData();
+        while (!input.isAtEnd()) {
+            int tag = input.readTag();
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case 1:
+                    product.setId(input.readInt64());
+                    break;
+                case 2:
+                    product.setName(input.readString());
+                    break;
+                case 3:
+                    product.setMaker(input.readString());
+                    break;
+                case 4:
+                    product.setPrice(input.readInt32());
+                    break;
+                case 5:
+                    product.setImageUrl(input.readString());
+                    break;
+                default:
+                    input.skipField(tag);
+            }
+        }
+        return product;
+    }
+}
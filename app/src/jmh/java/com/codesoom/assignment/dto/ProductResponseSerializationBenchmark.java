@@ -0,0 +1,82 @@
+package com.codesoom.assignment.dto;
+
+import com.codesoom.assignment.domain.Product;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 상품 목록 응답을 JSON 으로 만드는 시간을 측정합니다.
+ * ProductResponseSerializer 와 기본 BeanSerializer, 그리고 gzip 압축까지 포함한 시간을 비교합니다.
+ * size 10000 은 GET /products?all=true 로 상품 10000 개를 응답하는 경우입니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductResponseSerializationBenchmark {
+    @Param({"1", "100", "1000", "10000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper beanObjectMapper;
+    private List<ProductResponse> responses;
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    abstract static class BeanSerialized {
+    }
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        beanObjectMapper = Jackson2ObjectMapperBuilder.json()
+                .mixIn(ProductResponse.class, BeanSerialized.class)
+                .build();
+
+        responses = new ArrayList<>(size);
+        for (long id = 1; id <= size; id += 1) {
+            responses.add(new ProductResponse(Product.builder()
+                    .id(id)
+                    .name("쥐돌이 " + id)
+                    .maker("냥이월드")
+                    .price(5000)
+                    .imageUrl("https://example.com/products/" + id + ".png")
+                    .build()));
+        }
+    }
+
+    @Benchmark
+    public byte[] writeProducts() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] writeProductsWithBeanSerializer() throws JsonProcessingException {
+        return beanObjectMapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] writeProductsGzipped() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+            objectMapper.writeValue(gzip, responses);
+        }
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,153 @@
+package com.codesoom.assignment.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 정해진 간격마다 요청을 보내는 open model 부하를 만듭니다.
+ * 응답이 밀려도 다음 요청은 예정된 시각에 큐에 들어가고, 지연 시간은 실제로 보낸 시각이 아니라
+ * 예정된 시각부터 재므로 coordinated omission 이 보정됩니다. 실제로 보낸 뒤의 시간은 serviceTime 에 따로 남깁니다.
+ */
+public class LoadGenerator {
+    private final LoadTestConfig config;
+    private final LoadTestClient client;
+    private final Random random;
+    private final LoadTestOperation[] operations;
+    private final int[] cumulativeWeights;
+
+    public LoadGenerator(LoadTestConfig config, LoadTestClient client) {
+        this.config = config;
+        this.client = client;
+        this.random = new Random(config.getRandomSeed());
+
+        Map<LoadTestOperation, Integer> mix = config.getMix();
+        operations = mix.keySet().toArray(new LoadTestOperation[0]);
+        cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int index = 0; index < operations.length; index += 1) {
+            total += mix.get(operations[index]);
+            cumulativeWeights[index] = total;
+        }
+    }
+
+    public Result run(Duration duration) throws IOException, InterruptedException {
+        Map<LoadTestOperation, OperationStats> stats = new EnumMap<>(LoadTestOperation.class);
+        for (LoadTestOperation operation : operations) {
+            stats.put(operation, new OperationStats());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(
+                config.getClients(), new CustomizableThreadFactory("load-client-"));
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.getRate();
+        long requestCount = duration.toNanos() / intervalNanos;
+        long start = System.nanoTime();
+
+        for (long index = 0; index < requestCount; index += 1) {
+            long intendedStart = start + index * intervalNanos;
+            parkUntil(intendedStart);
+
+            LoadTestOperation operation = nextOperation();
+            HttpRequest request = client.request(operation, random);
+            OperationStats operationStats = stats.get(operation);
+
+            executor.execute(() -> {
+                long sentAt = System.nanoTime();
+                boolean succeeded;
+                try {
+                    succeeded = client.send(request);
+                } catch (IOException e) {
+                    succeeded = false;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    succeeded = false;
+                }
+                long completedAt = System.nanoTime();
+
+                operationStats.record(completedAt - intendedStart, completedAt - sentAt, succeeded);
+            });
+        }
+
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.HOURS);
+
+        return new Result(System.nanoTime() - start, stats);
+    }
+
+    private LoadTestOperation nextOperation() {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int index = 0; index < cumulativeWeights.length; index += 1) {
+            if (value < cumulativeWeights[index]) {
+                return operations[index];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private void parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    public static class Result {
+        private final long elapsedNanos;
+        private final Map<LoadTestOperation, OperationStats> stats;
+
+        private Result(long elapsedNanos, Map<LoadTestOperation, OperationStats> stats) {
+            this.elapsedNanos = elapsedNanos;
+            this.stats = stats;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public Map<LoadTestOperation, OperationStats> getStats() {
+            return stats;
+        }
+    }
+
+    /**
+     * 요청 종류 하나의 지연 시간을 마이크로초 단위 히스토그램에 모읍니다.
+     */
+    public static class OperationStats {
+        private final Histogram latency = new ConcurrentHistogram(3);
+        private final Histogram serviceTime = new ConcurrentHistogram(3);
+        private final AtomicLong errors = new AtomicLong();
+
+        private void record(long latencyNanos, long serviceTimeNanos, boolean succeeded) {
+            latency.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+            serviceTime.recordValue(TimeUnit.NANOSECONDS.toMicros(serviceTimeNanos));
+            if (!succeeded) {
+                errors.incrementAndGet();
+            }
+        }
+
+        public Histogram getLatency() {
+            return latency;
+        }
+
+        public Histogram getServiceTime() {
+            return serviceTime;
+        }
+
+        public long getErrors() {
+            return errors.get();
+        }
+    }
+}
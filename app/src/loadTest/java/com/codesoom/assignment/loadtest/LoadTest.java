@@ -0,0 +1,125 @@
+package com.codesoom.assignment.loadtest;
+
+import com.codesoom.assignment.App;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * App 을 임의 포트와 메모리 H2 로 띄우고 데이터를 채운 뒤 고정 비율 부하를 보내
+ * 처리량과 지연 시간 백분위수를 JSON 보고서로 남깁니다.
+ */
+public class LoadTest {
+    private static final double[] PERCENTILES = {50, 95, 99, 99.9};
+    private static final String[] PERCENTILE_NAMES = {"p50", "p95", "p99", "p99.9"};
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+        try (ConfigurableApplicationContext context = start(config)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadTestClient client = new LoadTestClient(URI.create("http://localhost:" + port), objectMapper);
+            client.seed(config.getSeedProducts(), config.getSeedUsers());
+
+            LoadGenerator generator = new LoadGenerator(config, client);
+            generator.run(config.getWarmup());
+            LoadGenerator.Result result = generator.run(config.getDuration());
+
+            Map<String, Object> report = report(config, result);
+
+            File reportFile = new File(config.getReport());
+            reportFile.getAbsoluteFile().getParentFile().mkdirs();
+            objectMapper.writeValue(reportFile, report);
+
+            System.out.println(objectMapper.writeValueAsString(report));
+            System.out.println("Report written to " + reportFile.getAbsolutePath());
+        }
+    }
+
+    private static ConfigurableApplicationContext start(LoadTestConfig config) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=warn"
+        ));
+        args.addAll(config.getSpringArgs());
+
+        return new SpringApplicationBuilder(App.class).run(args.toArray(new String[0]));
+    }
+
+    private static Map<String, Object> report(LoadTestConfig config, LoadGenerator.Result result) {
+        double elapsedSeconds = result.getElapsedNanos() / (double) TimeUnit.SECONDS.toNanos(1);
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("rate", config.getRate());
+        settings.put("clients", config.getClients());
+        settings.put("warmupSeconds", config.getWarmup().getSeconds());
+        settings.put("durationSeconds", config.getDuration().getSeconds());
+        settings.put("seedProducts", config.getSeedProducts());
+        settings.put("seedUsers", config.getSeedUsers());
+        settings.put("randomSeed", config.getRandomSeed());
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        config.getMix().forEach((operation, weight) -> mix.put(operation.getKey(), weight));
+        settings.put("mix", mix);
+        settings.put("springArgs", config.getSpringArgs());
+
+        Map<String, Object> operations = new LinkedHashMap<>();
+        long totalCount = 0;
+        long totalErrors = 0;
+        Histogram totalLatency = new Histogram(3);
+        for (Map.Entry<LoadTestOperation, LoadGenerator.OperationStats> entry : result.getStats().entrySet()) {
+            LoadGenerator.OperationStats stats = entry.getValue();
+            long count = stats.getLatency().getTotalCount();
+
+            Map<String, Object> operation = new LinkedHashMap<>();
+            operation.put("count", count);
+            operation.put("errors", stats.getErrors());
+            operation.put("throughput", count / elapsedSeconds);
+            operation.put("latencyMillis", percentiles(stats.getLatency()));
+            operation.put("serviceTimeMillis", percentiles(stats.getServiceTime()));
+            operations.put(entry.getKey().getKey(), operation);
+
+            totalCount += count;
+            totalErrors += stats.getErrors();
+            totalLatency.add(stats.getLatency());
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("settings", settings);
+        report.put("elapsedSeconds", elapsedSeconds);
+        report.put("count", totalCount);
+        report.put("errors", totalErrors);
+        report.put("throughput", totalCount / elapsedSeconds);
+        report.put("latencyMillis", percentiles(totalLatency));
+        report.put("operations", operations);
+        return report;
+    }
+
+    private static Map<String, Double> percentiles(Histogram histogram) {
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        for (int index = 0; index < PERCENTILES.length; index += 1) {
+            percentiles.put(PERCENTILE_NAMES[index], toMillis(histogram.getValueAtPercentile(PERCENTILES[index])));
+        }
+        percentiles.put("max", toMillis(histogram.getMaxValue()));
+        return percentiles;
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1000.0;
+    }
+}
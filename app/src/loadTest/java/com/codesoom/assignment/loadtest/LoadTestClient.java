@@ -0,0 +1,153 @@
+package com.codesoom.assignment.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 공개 API 로 데이터를 채우고 요청 종류마다 HTTP 요청을 만들어 보냅니다.
+ */
+public class LoadTestClient {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int SEED_CHUNK_SIZE = 1000;
+    private static final List<String> MAKERS =
+            List.of("냥이월드", "멍멍상사", "고양이공방", "캣타워랩", "Toy Factory");
+
+    private final URI baseUri;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final AtomicLong emailSequence = new AtomicLong();
+    private final List<Long> productIds = new ArrayList<>();
+    private final List<Long> userIds = new ArrayList<>();
+
+    public LoadTestClient(URI baseUri, ObjectMapper objectMapper) {
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+    }
+
+    public void seed(int productCount, int userCount) throws IOException, InterruptedException {
+        for (int offset = 0; offset < productCount; offset += SEED_CHUNK_SIZE) {
+            List<Map<String, Object>> products = new ArrayList<>();
+            for (int index = offset; index < Math.min(offset + SEED_CHUNK_SIZE, productCount); index += 1) {
+                products.add(Map.of(
+                        "name", "쥐돌이 " + index,
+                        "maker", MAKERS.get(index % MAKERS.size()),
+                        "price", (index % 100 + 1) * 100));
+            }
+
+            JsonNode results = sendForJson(post("/products/bulk", "application/json",
+                    objectMapper.writeValueAsString(products)));
+            results.forEach(result -> productIds.add(result.get("id").asLong()));
+        }
+
+        StringBuilder users = new StringBuilder();
+        for (int index = 0; index < userCount; index += 1) {
+            users.append(objectMapper.writeValueAsString(userBody("seed" + index + "@loadtest.com")))
+                    .append('\n');
+        }
+        send(post("/users/import", "application/x-ndjson", users.toString()));
+
+        long after = 0;
+        while (true) {
+            JsonNode page = sendForJson(get("/users?limit=1000&after=" + after));
+            if (page.size() == 0) {
+                break;
+            }
+            page.forEach(user -> userIds.add(user.get("id").asLong()));
+            after = userIds.get(userIds.size() - 1);
+        }
+
+        if (productIds.isEmpty() || userIds.isEmpty()) {
+            throw new IllegalStateException("Seeding failed: products=" + productIds.size()
+                    + ", users=" + userIds.size());
+        }
+    }
+
+    /**
+     * 요청에 쓸 id 와 값은 부하를 만드는 스레드의 random 으로 골라 실행마다 같은 순서가 되게 합니다.
+     */
+    public HttpRequest request(LoadTestOperation operation, Random random) throws IOException {
+        switch (operation) {
+            case PRODUCTS_LIST:
+                return get("/products?limit=100&after=" + (pick(productIds, random) - 1));
+            case PRODUCTS_DETAIL:
+                return get("/products/" + pick(productIds, random));
+            case PRODUCTS_SEARCH:
+                return get("/products/search?q="
+                        + URLEncoder.encode(MAKERS.get(random.nextInt(MAKERS.size())), StandardCharsets.UTF_8));
+            case USERS_LIST:
+                return get("/users?limit=100&after=" + (pick(userIds, random) - 1));
+            case USERS_DETAIL:
+                return get("/users/" + pick(userIds, random));
+            case USERS_CREATE:
+                return post("/users", "application/json", objectMapper.writeValueAsString(
+                        userBody("user" + emailSequence.incrementAndGet() + "@loadtest.com")));
+            case USERS_UPDATE:
+                return HttpRequest.newBuilder(baseUri.resolve("/users/" + pick(userIds, random)))
+                        .timeout(REQUEST_TIMEOUT)
+                        .header("Content-Type", "application/json")
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(
+                                Map.of("name", "updated", "password", "password"))))
+                        .build();
+            default:
+                throw new IllegalArgumentException("Unknown load test operation: " + operation);
+        }
+    }
+
+    /**
+     * 요청을 보내고 응답 상태가 400 미만이면 true 를 리턴합니다.
+     */
+    public boolean send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        return response.statusCode() < 400;
+    }
+
+    private JsonNode sendForJson(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(request.uri() + " responded " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String contentType, String body) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private Map<String, String> userBody(String email) {
+        return Map.of("email", email, "name", "load test", "password", "password");
+    }
+
+    private long pick(List<Long> ids, Random random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+}
@@ -0,0 +1,118 @@
+package com.codesoom.assignment.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * loadtest. 로 시작하는 시스템 프로퍼티에서 부하 테스트 설정을 읽습니다.
+ * loadtest.spring. 으로 시작하는 값은 애플리케이션 설정으로 넘깁니다.
+ */
+public class LoadTestConfig {
+    private static final String PREFIX = "loadtest.";
+    private static final String SPRING_PREFIX = PREFIX + "spring.";
+    private static final String DEFAULT_MIX =
+            "products.list:40,products.detail:25,products.search:10,"
+                    + "users.list:10,users.detail:5,users.create:5,users.update:5";
+
+    private final int rate;
+    private final int clients;
+    private final Duration warmup;
+    private final Duration duration;
+    private final int seedProducts;
+    private final int seedUsers;
+    private final long randomSeed;
+    private final Map<LoadTestOperation, Integer> mix;
+    private final String report;
+    private final List<String> springArgs;
+
+    private LoadTestConfig() {
+        rate = Integer.getInteger(PREFIX + "rate", 200);
+        clients = Integer.getInteger(PREFIX + "clients", 64);
+        warmup = Duration.ofSeconds(Long.getLong(PREFIX + "warmupSeconds", 10L));
+        duration = Duration.ofSeconds(Long.getLong(PREFIX + "durationSeconds", 60L));
+        seedProducts = Integer.getInteger(PREFIX + "seedProducts", 10_000);
+        seedUsers = Integer.getInteger(PREFIX + "seedUsers", 200);
+        randomSeed = Long.getLong(PREFIX + "randomSeed", 42L);
+        mix = parseMix(System.getProperty(PREFIX + "mix", DEFAULT_MIX));
+        report = System.getProperty(PREFIX + "report", "build/reports/loadtest/report.json");
+        springArgs = springArgs();
+    }
+
+    public static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig();
+    }
+
+    private static Map<LoadTestOperation, Integer> parseMix(String value) {
+        Map<LoadTestOperation, Integer> mix = new LinkedHashMap<>();
+
+        for (String entry : value.split(",")) {
+            String[] keyAndWeight = entry.trim().split(":");
+            if (keyAndWeight.length != 2) {
+                throw new IllegalArgumentException("Invalid loadtest.mix entry: " + entry);
+            }
+
+            int weight = Integer.parseInt(keyAndWeight[1].trim());
+            if (weight > 0) {
+                mix.put(LoadTestOperation.fromKey(keyAndWeight[0].trim()), weight);
+            }
+        }
+
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix has no operation with a positive weight");
+        }
+        return mix;
+    }
+
+    private static List<String> springArgs() {
+        List<String> args = new ArrayList<>();
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith(SPRING_PREFIX))
+                .sorted()
+                .forEach(name -> args.add("--" + name.substring(SPRING_PREFIX.length())
+                        + "=" + System.getProperty(name)));
+        return args;
+    }
+
+    public int getRate() {
+        return rate;
+    }
+
+    public int getClients() {
+        return clients;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public int getSeedProducts() {
+        return seedProducts;
+    }
+
+    public int getSeedUsers() {
+        return seedUsers;
+    }
+
+    public long getRandomSeed() {
+        return randomSeed;
+    }
+
+    public Map<LoadTestOperation, Integer> getMix() {
+        return mix;
+    }
+
+    public String getReport() {
+        return report;
+    }
+
+    public List<String> getSpringArgs() {
+        return springArgs;
+    }
+}
@@ -0,0 +1,33 @@
+package com.codesoom.assignment.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * 부하 테스트가 섞어서 보내는 요청 종류입니다.
+ */
+public enum LoadTestOperation {
+    PRODUCTS_LIST("products.list"),
+    PRODUCTS_DETAIL("products.detail"),
+    PRODUCTS_SEARCH("products.search"),
+    USERS_LIST("users.list"),
+    USERS_DETAIL("users.detail"),
+    USERS_CREATE("users.create"),
+    USERS_UPDATE("users.update");
+
+    private final String key;
+
+    LoadTestOperation(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public static LoadTestOperation fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown load test operation: " + key));
+    }
+}
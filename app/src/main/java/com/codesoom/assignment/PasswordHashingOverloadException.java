@@ -0,0 +1,11 @@
+package com.codesoom.assignment;
+
+public class PasswordHashingOverloadException extends RuntimeException {
+    public PasswordHashingOverloadException() {
+        super("Password hashing queue is full");
+    }
+
+    public PasswordHashingOverloadException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.codesoom.assignment;
+
+public class ProductPriceOutOfRangeException extends RuntimeException {
+    public ProductPriceOutOfRangeException(Integer price, Integer percent) {
+        super("Price " + price + " scaled by " + percent + "% is out of range");
+    }
+}
@@ -0,0 +1,7 @@
+package com.codesoom.assignment;
+
+public class UserEmailDuplicationException extends RuntimeException {
+    public UserEmailDuplicationException(String email) {
+        super("User email is already in use: " + email);
+    }
+}
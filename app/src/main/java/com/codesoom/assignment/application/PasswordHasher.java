@@ -0,0 +1,187 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.PasswordHashingOverloadException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 비밀번호 해싱은 CPU 를 오래 쓰므로 요청 스레드가 아닌 전용 스레드에서 실행합니다.
+ * 대기열이 가득 차거나 waitTimeout 안에 해싱이 끝나지 않으면 PasswordHashingOverloadException 을 던져
+ * 요청 스레드가 해싱을 기다리며 쌓이지 않게 합니다.
+ */
+@Component
+public class PasswordHasher {
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long waitTimeoutNanos;
+    private final Timer hashTimer;
+    private final Counter rejectedCounter;
+    private final Counter timeoutCounter;
+
+    @Autowired
+    public PasswordHasher(@Value("${password-hashing.strength}") int strength,
+                          @Value("${password-hashing.threads}") int threads,
+                          @Value("${password-hashing.queue-capacity}") int queueCapacity,
+                          @Value("${password-hashing.wait-timeout}") Duration waitTimeout,
+                          MeterRegistry meterRegistry) {
+        this(new BCryptPasswordEncoder(strength), threads, queueCapacity, waitTimeout, meterRegistry);
+    }
+
+    PasswordHasher(PasswordEncoder passwordEncoder,
+                   int threads,
+                   int queueCapacity,
+                   Duration waitTimeout,
+                   MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.waitTimeoutNanos = waitTimeout.toNanos();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.hashTimer = Timer.builder("password.hashing")
+                .description("비밀번호 해싱에 걸린 시간")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("password.hashing.rejected")
+                .description("대기열이 가득 차서 거절한 해싱 요청 수")
+                .register(meterRegistry);
+        this.timeoutCounter = Counter.builder("password.hashing.timeout")
+                .description("기다리는 시간이 지나 포기한 해싱 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.queue.depth", executor, e -> e.getQueue().size())
+                .description("해싱을 기다리는 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("해싱 중인 스레드 수")
+                .register(meterRegistry);
+    }
+
+    public String hash(String password) {
+        return execute(() -> hashTimer.record(() -> passwordEncoder.encode(password)));
+    }
+
+    /**
+     * 비밀번호 비교도 해싱만큼 CPU 를 쓰므로 같은 스레드와 대기열, waitTimeout 을 거칩니다.
+     */
+    public boolean matches(String password, String hashedPassword) {
+        return execute(() -> passwordEncoder.matches(password, hashedPassword));
+    }
+
+    private <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new PasswordHashingOverloadException();
+        }
+
+        try {
+            return await(future);
+        } catch (InterruptedException e) {
+            cancel(future);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Password hashing was interrupted", e);
+        }
+    }
+
+    /**
+     * 여러 비밀번호를 해싱합니다. 가입 요청이 쓸 대기열을 남겨 두도록
+     * 스레드 수만큼만 동시에 넘깁니다. 전체가 아니라 비밀번호마다 waitTimeout 을 적용합니다.
+     */
+    public List<String> hashAll(List<String> passwords) {
+        Semaphore permits = new Semaphore(executor.getMaximumPoolSize());
+        List<Future<String>> futures = new ArrayList<>(passwords.size());
+
+        try {
+            for (String password : passwords) {
+                if (!permits.tryAcquire(waitTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                    futures.forEach(this::cancel);
+                    timeoutCounter.increment();
+                    throw timeout();
+                }
+                try {
+                    futures.add(executor.submit(() -> {
+                        try {
+                            return hashTimer.record(() -> passwordEncoder.encode(password));
+                        } finally {
+                            permits.release();
+                        }
+                    }));
+                } catch (RejectedExecutionException e) {
+                    permits.release();
+                    rejectedCounter.increment();
+                    futures.forEach(this::cancel);
+                    throw new PasswordHashingOverloadException();
+                }
+            }
+
+            List<String> hashedPasswords = new ArrayList<>(futures.size());
+            for (int index = 0; index < futures.size(); index += 1) {
+                try {
+                    hashedPasswords.add(await(futures.get(index)));
+                } catch (PasswordHashingOverloadException e) {
+                    futures.subList(index, futures.size()).forEach(this::cancel);
+                    throw e;
+                }
+            }
+            return hashedPasswords;
+        } catch (InterruptedException e) {
+            futures.forEach(this::cancel);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Password hashing was interrupted", e);
+        }
+    }
+
+    /**
+     * waitTimeout 동안 해싱 결과를 기다리고, 지나면 작업을 취소해 대기열에서 빼고 예외를 던집니다.
+     */
+    private <T> T await(Future<T> future) throws InterruptedException {
+        try {
+            return future.get(waitTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            cancel(future);
+            timeoutCounter.increment();
+            throw timeout();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private void cancel(Future<?> future) {
+        future.cancel(true);
+        executor.remove((Runnable) future);
+    }
+
+    private PasswordHashingOverloadException timeout() {
+        return new PasswordHashingOverloadException("Password hashing timed out");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,136 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.domain.Product;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 상품 이름과 메이커의 토큰으로 상품 id 를 찾는 메모리 역색인입니다.
+ * 검색어의 모든 토큰이 상품의 어떤 토큰의 접두어일 때 그 상품을 찾습니다.
+ */
+@Component
+public class ProductSearchIndex {
+    private static final Pattern DELIMITER = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final NavigableMap<String, Set<Long>> idsByToken = new TreeMap<>();
+    private final Map<Long, Set<String>> tokensById = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void add(Product product) {
+        Set<String> tokens = new HashSet<>();
+        tokens.addAll(tokenize(product.getName()));
+        tokens.addAll(tokenize(product.getMaker()));
+
+        lock.writeLock().lock();
+        try {
+            removeTokens(product.getId());
+
+            tokens.forEach(token -> idsByToken
+                    .computeIfAbsent(token, key -> new HashSet<>())
+                    .add(product.getId()));
+            tokensById.put(product.getId(), tokens);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeTokens(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            idsByToken.clear();
+            tokensById.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> search(String query, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Set<Long> result = null;
+
+            for (String term : terms) {
+                Set<Long> matches = new HashSet<>();
+                idsByToken.subMap(term, true, term + Character.MAX_VALUE, false)
+                        .values()
+                        .forEach(matches::addAll);
+
+                if (result == null) {
+                    result = matches;
+                } else {
+                    result.retainAll(matches);
+                }
+
+                if (result.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            return result.stream()
+                    .sorted()
+                    .limit(limit)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeTokens(Long id) {
+        Set<String> tokens = tokensById.remove(id);
+        if (tokens == null) {
+            return;
+        }
+
+        tokens.forEach(token -> {
+            Set<Long> ids = idsByToken.get(token);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                idsByToken.remove(token);
+            }
+        });
+    }
+
+    private List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC)
+                .toLowerCase(Locale.ROOT);
+
+        List<String> tokens = new ArrayList<>();
+        Arrays.stream(DELIMITER.split(normalized))
+                .filter(token -> !token.isEmpty())
+                .forEach(tokens::add);
+        return tokens;
+    }
+}
@@ -1,42 +1,189 @@
 package com.codesoom.assignment.application;
 
 import com.codesoom.assignment.ProductNotFoundException;
+import com.codesoom.assignment.ProductPriceOutOfRangeException;
 import com.codesoom.assignment.domain.Product;
+import com.codesoom.assignment.domain.ProductBulkOperation;
+import com.codesoom.assignment.domain.ProductFilter;
 import com.codesoom.assignment.domain.ProductRepository;
+import com.codesoom.assignment.dto.ProductBulkUpdateRequest;
 import com.codesoom.assignment.dto.ProductData;
+import com.codesoom.assignment.infra.ReplicaRoutingDataSource;
+import com.google.common.collect.Lists;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import javax.transaction.Transactional;
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class ProductService {
+    public static final String PRODUCT_CACHE = "product";
+    public static final String PRODUCTS_CACHE = "products";
+
+    static final int BULK_CHUNK_SIZE = 500;
+
     private final ProductRepository productRepository;
+    private final EntityManager entityManager;
+    private final ProductSearchIndex productSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
 
-    public ProductService(ProductRepository productRepository) {
+    public ProductService(ProductRepository productRepository,
+                          EntityManager entityManager,
+                          ProductSearchIndex productSearchIndex,
+                          TransactionTemplate transactionTemplate) {
         this.productRepository = productRepository;
+        this.entityManager = entityManager;
+        this.productSearchIndex = productSearchIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.readOnlyTransactionTemplate =
+                new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void indexProducts() {
+        exportProducts(productSearchIndex::add);
     }
 
+    /**
+     * 결과를 캐시에 담는 읽기는 primary 에서 합니다. 복제가 늦은 복제본에서 읽은 값을 캐시에 담으면
+     * 만료될 때까지 모든 클라이언트가 쓰기 이전의 값을 보게 됩니다.
+     */
+    @Cacheable(PRODUCTS_CACHE)
+    @Transactional(readOnly = true)
     public List<Product> getProducts() {
-        return productRepository.findAll();
+        return ReplicaRoutingDataSource.onPrimary(productRepository::findAll);
+    }
+
+    /**
+     * 쿼리 캐시에 담으므로 getProducts 처럼 primary 에서 읽습니다.
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getProductsFields(Long after,
+                                                      int limit,
+                                                      List<String> fields) {
+        return ReplicaRoutingDataSource.onPrimary(
+                () -> productRepository.findFieldsByIdGreaterThan(after, limit, fields));
+    }
+
+    /**
+     * 쿼리 캐시에 담으므로 getProducts 처럼 primary 에서 읽습니다.
+     */
+    @Transactional(readOnly = true)
+    public List<Product> getProductsByPrice(Integer minPrice,
+                                            Integer maxPrice,
+                                            Sort.Direction direction,
+                                            int limit) {
+        return ReplicaRoutingDataSource.onPrimary(() -> productRepository.findAllByPriceBetween(
+                minPrice == null ? Integer.MIN_VALUE : minPrice,
+                maxPrice == null ? Integer.MAX_VALUE : maxPrice,
+                PageRequest.of(0, limit, Sort.by(direction, "price", "id"))
+        ));
+    }
+
+    /**
+     * 전체 상품을 id 순서로 하나씩 consumer 에게 넘깁니다.
+     * 넘긴 상품은 곧바로 영속성 컨텍스트에서 분리해 메모리 사용량을 일정하게 유지합니다.
+     * 스트림의 상품은 쿼리 힌트가 풀린 뒤에 만들어지므로, 전체 상품이 2차 캐시를 밀어내지 않도록
+     * 세션의 캐시 모드를 바꿔 둡니다.
+     */
+    @Transactional(readOnly = true)
+    public void exportProducts(Consumer<Product> consumer) {
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode cacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.IGNORE);
+
+        try (Stream<Product> products = productRepository.streamAllByOrderByIdAsc()) {
+            products.forEach(product -> {
+                consumer.accept(product);
+                entityManager.detach(product);
+            });
+        } finally {
+            session.setCacheMode(cacheMode);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<Product> searchProducts(String query, int limit) {
+        List<Long> ids = productSearchIndex.search(query, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        return productRepository.findAllByIdInOrderByIdAsc(ids);
     }
 
+    /**
+     * 캐시에 담으므로 getProducts 처럼 primary 에서 읽습니다.
+     */
+    @Cacheable(PRODUCT_CACHE)
+    @Transactional(readOnly = true)
     public Product getProduct(Long id) {
-        return findProduct(id);
+        return ReplicaRoutingDataSource.onPrimary(() -> productRepository.findById(id))
+                .orElseThrow(() -> new ProductNotFoundException(id));
+    }
+
+    /**
+     * 복제본에서 읽고, 복제가 늦어 찾지 못하면 primary 에서 한 번 더 읽습니다.
+     * 두 번째 읽기가 새 연결을 얻도록 이 메서드는 트랜잭션 없이 실행합니다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Map<String, Object> getProductFields(Long id, List<String> fields) {
+        return readWithPrimaryFallback(() -> productRepository.findFieldsById(id, fields))
+                .orElseThrow(() -> new ProductNotFoundException(id));
     }
 
+    @CacheEvict(cacheNames = PRODUCTS_CACHE, allEntries = true)
     public Product createProduct(ProductData productData) {
-        return productRepository.save(
-                Product.builder()
-                        .name(productData.getName())
-                        .maker(productData.getMaker())
-                        .price(productData.getPrice())
-                        .imageUrl(productData.getImageUrl())
-                        .build()
+        Product product = productRepository.save(toProduct(productData));
+
+        afterCommit(() -> productSearchIndex.add(product));
+
+        return product;
+    }
+
+    /**
+     * 상품들을 BULK_CHUNK_SIZE 개씩 나누어 각각의 트랜잭션에서 저장합니다.
+     * 실패한 묶음은 롤백되지만, 이미 커밋된 앞의 묶음은 유지됩니다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @CacheEvict(cacheNames = PRODUCTS_CACHE, allEntries = true)
+    public List<Product> createProducts(List<ProductData> productDataList) {
+        List<Product> products = new ArrayList<>(productDataList.size());
+
+        Lists.partition(productDataList, BULK_CHUNK_SIZE).forEach(chunk ->
+                products.addAll(transactionTemplate.execute(status -> saveProducts(chunk)))
         );
+
+        return products;
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = PRODUCT_CACHE, key = "#id"),
+            @CacheEvict(cacheNames = PRODUCTS_CACHE, allEntries = true)
+    })
     public Product updateProduct(Long id, ProductData productData) {
         Product product = findProduct(id);
 
@@ -47,17 +194,136 @@ public class ProductService {
                 productData.getImageUrl()
         );
 
+        afterCommit(() -> productSearchIndex.add(product));
+
         return product;
     }
 
+    /**
+     * 조건에 맞는 상품들을 하나의 UPDATE 문으로 변경하고 변경된 상품 수를 리턴합니다.
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = PRODUCT_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = PRODUCTS_CACHE, allEntries = true)
+    })
+    public int updateProducts(ProductBulkUpdateRequest request) {
+        if (request.getOperation() == ProductBulkOperation.SCALE_PRICE) {
+            checkScaledPriceRange(request.getFilter(), request.getPercent());
+        }
+
+        List<Long> ids = request.getOperation() == ProductBulkOperation.SET_MAKER
+                ? productRepository.findIdsBy(request.getFilter())
+                : List.of();
+
+        int updatedCount = productRepository.updateAll(
+                request.getFilter(),
+                request.getOperation(),
+                request.getPrice(),
+                request.getPercent(),
+                request.getMaker()
+        );
+
+        entityManager.clear();
+
+        List<Product> changedProducts = new ArrayList<>(ids.size());
+        Lists.partition(ids, BULK_CHUNK_SIZE).forEach(chunk ->
+                changedProducts.addAll(productRepository.findAllByIdInOrderByIdAsc(chunk))
+        );
+        afterCommit(() -> changedProducts.forEach(productSearchIndex::add));
+
+        return updatedCount;
+    }
+
+    /**
+     * 가장 비싼 상품의 바뀐 가격이 price 컬럼(INTEGER)에 들어가지 않으면 아무것도 바꾸지 않고 거절합니다.
+     */
+    private void checkScaledPriceRange(ProductFilter filter, Integer percent) {
+        Integer maxPrice = productRepository.findMaxPriceBy(filter);
+        if (maxPrice != null && (long) maxPrice * (100 + percent) / 100 > Integer.MAX_VALUE) {
+            throw new ProductPriceOutOfRangeException(maxPrice, percent);
+        }
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = PRODUCT_CACHE, key = "#id"),
+            @CacheEvict(cacheNames = PRODUCTS_CACHE, allEntries = true)
+    })
     public Product deleteProduct(Long id) {
         Product product = findProduct(id);
 
         productRepository.delete(product);
 
+        afterCommit(() -> productSearchIndex.remove(id));
+
         return product;
     }
 
+    /**
+     * 상품을 읽지 않고 하나의 DELETE 문으로 모두 삭제하고 삭제된 상품 수를 리턴합니다.
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = PRODUCT_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = PRODUCTS_CACHE, allEntries = true)
+    })
+    public int deleteAll() {
+        int deletedCount = productRepository.deleteAllInBatch();
+
+        entityManager.clear();
+        afterCommit(productSearchIndex::clear);
+
+        return deletedCount;
+    }
+
+    private List<Product> saveProducts(List<ProductData> productDataList) {
+        List<Product> products = new ArrayList<>(productDataList.size());
+        productDataList.forEach(productData ->
+                products.add(productRepository.save(toProduct(productData)))
+        );
+
+        entityManager.flush();
+        entityManager.clear();
+
+        afterCommit(() -> products.forEach(productSearchIndex::add));
+
+        return products;
+    }
+
+    private Product toProduct(ProductData productData) {
+        return Product.builder()
+                .name(productData.getName())
+                .maker(productData.getMaker())
+                .price(productData.getPrice())
+                .imageUrl(productData.getImageUrl())
+                .build();
+    }
+
+    /**
+     * 읽기 전용 트랜잭션으로 복제본에서 읽고, 없으면 새 트랜잭션으로 primary 에서 다시 읽습니다.
+     */
+    private <T> Optional<T> readWithPrimaryFallback(Supplier<Optional<T>> reader) {
+        return readOnlyTransactionTemplate.execute(status -> reader.get())
+                .or(() -> ReplicaRoutingDataSource.onPrimary(
+                        () -> readOnlyTransactionTemplate.execute(status -> reader.get())));
+    }
+
+    /**
+     * 검색 색인은 트랜잭션과 함께 롤백되지 않으므로 커밋된 뒤에 바꿉니다.
+     * 트랜잭션 밖에서 부르면 바로 바꿉니다.
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
     private Product findProduct(Long id) {
         return productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException(id));
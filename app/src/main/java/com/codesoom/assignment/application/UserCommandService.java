@@ -1,78 +1,169 @@
 package com.codesoom.assignment.application;
 
+import com.codesoom.assignment.UserEmailDuplicationException;
 import com.codesoom.assignment.UserNotFoundException;
 import com.codesoom.assignment.domain.User;
 import com.codesoom.assignment.domain.UserRepository;
 import com.codesoom.assignment.dto.UserCreateRequest;
 import com.codesoom.assignment.dto.UserDeleteReport;
 import com.codesoom.assignment.dto.UserUpdateRequest;
-import com.github.dozermapper.core.DozerBeanMapperBuilder;
-import com.github.dozermapper.core.Mapper;
+import com.google.common.collect.Lists;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 public class UserCommandService {
-    private final UserRepository userRepository;
-    private final Mapper mapper = DozerBeanMapperBuilder.buildDefault();
+    static final int DELETE_CHUNK_SIZE = 1000;
 
-    public UserCommandService(UserRepository userRepository) {
+    private final UserRepository userRepository;
+    private final UserEmailFilter userEmailFilter;
+    private final PasswordHasher passwordHasher;
+    private final TransactionTemplate transactionTemplate;
+
+    public UserCommandService(UserRepository userRepository,
+                              UserEmailFilter userEmailFilter,
+                              PasswordHasher passwordHasher,
+                              TransactionTemplate transactionTemplate) {
         this.userRepository = userRepository;
+        this.userEmailFilter = userEmailFilter;
+        this.passwordHasher = passwordHasher;
+        this.transactionTemplate = transactionTemplate;
     }
 
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void indexEmails() {
+        try (Stream<String> emails = userRepository.streamAllEmails()) {
+            userEmailFilter.rebuild(userRepository.count(), emails);
+        }
+    }
+
+    /**
+     * email filter 에 없는 email 은 DB 조회 없이 바로 저장합니다.
+     * 동시에 같은 email 로 가입하는 경우는 email unique index 가 막습니다.
+     */
     public User createUser(UserCreateRequest userCreateRequest) {
-        User user = mapper.map(userCreateRequest, User.class);
-        return userRepository.save(user);
+        String email = userCreateRequest.getEmail();
+        if (userEmailFilter.mightContain(email) && userRepository.existsByEmail(email)) {
+            throw new UserEmailDuplicationException(email);
+        }
+
+        String hashedPassword = passwordHasher.hash(userCreateRequest.getPassword());
+
+        User user;
+        try {
+            user = userRepository.save(
+                    User.builder()
+                            .email(email)
+                            .name(userCreateRequest.getName())
+                            .password(hashedPassword)
+                            .build()
+            );
+        } catch (DataIntegrityViolationException e) {
+            if (UserEmailConstraint.isViolatedBy(e)) {
+                throw new UserEmailDuplicationException(email);
+            }
+            throw e;
+        }
+
+        userEmailFilter.put(email);
+        reindexEmailsIfNeeded();
+        return user;
     }
 
+    /**
+     * 조건부 UPDATE 한 문장으로 수정하고, 응답에 필요한 user 를 다시 읽어 리턴합니다.
+     * 해싱하는 동안 DB 커넥션을 잡지 않도록 트랜잭션은 해싱이 끝난 뒤에 시작합니다.
+     */
     public User updateUser(Long id, UserUpdateRequest userUpdateRequest) {
-        User findUser = userRepository.findById(id)
-                .orElseThrow(() -> new UserNotFoundException(id + "에 해당하는 user를 찾지 못했으므로 업데이트에 실패했습니다."));
-
-        User user = mapper.map(userUpdateRequest, User.class);
+        String hashedPassword = passwordHasher.hash(userUpdateRequest.getPassword());
 
-        findUser.update(user.getEmail(), user.getName(), user.getPassword());
+        return transactionTemplate.execute(status -> {
+            int updatedCount = userRepository.updateNameAndPasswordById(
+                    id, userUpdateRequest.getName(), hashedPassword);
+            if (updatedCount == 0) {
+                throw new UserNotFoundException(id + "에 해당하는 user를 찾지 못했으므로 업데이트에 실패했습니다.");
+            }
 
-        return userRepository.save(findUser);
+            return userRepository.findById(id)
+                    .orElseThrow(() -> new UserNotFoundException(id + "에 해당하는 user를 찾지 못했으므로 업데이트에 실패했습니다."));
+        });
     }
 
+    @Transactional
     public Long deleteUser(Long id) {
-        userRepository.findById(id)
-                .orElseThrow(() -> new UserNotFoundException(id + "에 해당하는 user를 찾지 못했으므로 삭제에 실패했습니다."));
+        if (userRepository.deleteOneById(id) == 0) {
+            throw new UserNotFoundException(id + "에 해당하는 user를 찾지 못했으므로 삭제에 실패했습니다.");
+        }
+        removeEmails(1);
 
-        userRepository.deleteById(id);
         return id;
     }
 
+    /**
+     * id 목록을 DELETE_CHUNK_SIZE 개씩 나누어 id 만 조회하고 한 문장으로 삭제합니다.
+     * User 엔티티는 읽지 않습니다.
+     */
+    @Transactional
     public UserDeleteReport deleteUsers(Set<Long> ids) {
-        Iterable<User> findUsers = userRepository.findAllById(ids);
-        userRepository.deleteAll(findUsers);
+        Set<Long> deletedIds = new HashSet<>();
 
-        Set<Long> findUserIds = getFindUserIds(findUsers);
-        Set<Long> notFindUserIds = getNotFindUserIds(ids, findUserIds);
+        Lists.partition(new ArrayList<>(ids), DELETE_CHUNK_SIZE).forEach(chunk -> {
+            List<Long> foundIds = userRepository.findIdsByIdIn(chunk);
+            if (foundIds.isEmpty()) {
+                return;
+            }
 
-        return new UserDeleteReport(findUserIds, notFindUserIds);
+            userRepository.deleteAllByIdIn(foundIds);
+            deletedIds.addAll(foundIds);
+        });
+
+        removeEmails(deletedIds.size());
+
+        Set<Long> notFoundIds = new HashSet<>(ids);
+        notFoundIds.removeAll(deletedIds);
+
+        return new UserDeleteReport(deletedIds, notFoundIds);
     }
 
-    private Set<Long> getFindUserIds(Iterable<User> findUsers) {
-        Set<Long> userIdSet = new HashSet<>();
-        findUsers.forEach(user -> userIdSet.add(user.getId()));
-        return userIdSet;
+    /**
+     * user 를 읽지 않고 하나의 DELETE 문으로 모두 삭제하고 삭제된 user 수를 리턴합니다.
+     */
+    @Transactional
+    public int deleteAll() {
+        int deletedCount = userRepository.deleteAllInBatch();
+        userEmailFilter.clear();
+
+        return deletedCount;
     }
 
-    private Set<Long> getNotFindUserIds(Set<Long> ids, Set<Long> findUserIds) {
-        Set<Long> notFoundIds = new HashSet<>();
-        ids.forEach(id -> {
-            if (!findUserIds.contains(id)) {
-                notFoundIds.add(id);
-            }
-        });
-        return notFoundIds;
+    /**
+     * 삭제된 email 이 많거나 filter 크기보다 email 이 많아졌으면 DB 의 email 로 filter 를 다시 만듭니다.
+     */
+    public void reindexEmailsIfNeeded() {
+        if (userEmailFilter.needsRebuild()) {
+            reindexEmails();
+        }
+    }
+
+    private synchronized void reindexEmails() {
+        if (userEmailFilter.needsRebuild()) {
+            transactionTemplate.executeWithoutResult(status -> indexEmails());
+        }
     }
 
-    public void deleteAll() {
-        userRepository.deleteAll();
+    private void removeEmails(long count) {
+        userEmailFilter.removed(count);
+        reindexEmailsIfNeeded();
     }
 }
@@ -0,0 +1,27 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.domain.User;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+/**
+ * 저장 실패가 email unique index 때문인지 확인합니다.
+ * 기본 키 충돌 같은 다른 제약 위반은 email 중복으로 응답하지 않고 그대로 던집니다.
+ */
+final class UserEmailConstraint {
+    private UserEmailConstraint() {
+    }
+
+    static boolean isViolatedBy(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException) {
+                String constraintName = ((ConstraintViolationException) cause).getConstraintName();
+                return constraintName != null
+                        && constraintName.toLowerCase(Locale.ROOT).contains(User.EMAIL_INDEX);
+            }
+        }
+        return false;
+    }
+}
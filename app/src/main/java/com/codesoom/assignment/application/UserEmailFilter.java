@@ -0,0 +1,102 @@
+package com.codesoom.assignment.application;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 가입된 email 의 Bloom filter 입니다.
+ * mightContain 이 false 인 email 은 DB 를 보지 않고도 사용할 수 있다고 판단합니다.
+ * Bloom filter 에서는 값을 뺄 수 없으므로 삭제된 email 수가 많아지면 다시 만들어야 합니다.
+ * 만들 때 정한 크기보다 email 이 많아져도 false positive 가 늘어나므로 더 크게 다시 만듭니다.
+ */
+@Component
+public class UserEmailFilter {
+    static final long MIN_EXPECTED_EMAILS = 100_000;
+    static final long MIN_STALE_EMAILS = 1_000;
+    static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+
+    private volatile long capacity = capacity(0);
+    private volatile BloomFilter<CharSequence> filter = create(capacity);
+    private volatile BloomFilter<CharSequence> rebuilding;
+    private final AtomicLong emailCount = new AtomicLong();
+    private final AtomicLong staleCount = new AtomicLong();
+
+    public boolean mightContain(String email) {
+        return filter.mightContain(email);
+    }
+
+    public void put(String email) {
+        filter.put(email);
+        emailCount.incrementAndGet();
+
+        BloomFilter<CharSequence> next = rebuilding;
+        if (next != null) {
+            next.put(email);
+        }
+    }
+
+    public void removed(long count) {
+        staleCount.addAndGet(count);
+    }
+
+    /**
+     * 삭제된 email 이 전체의 절반을 넘으면 true 를 리턴합니다.
+     */
+    public boolean isStale() {
+        long stale = staleCount.get();
+        return stale >= MIN_STALE_EMAILS && stale * 2 > emailCount.get();
+    }
+
+    /**
+     * email 수가 filter 를 만들 때 정한 크기를 넘으면 true 를 리턴합니다.
+     */
+    public boolean isFull() {
+        return emailCount.get() > capacity;
+    }
+
+    public boolean needsRebuild() {
+        return isStale() || isFull();
+    }
+
+    /**
+     * 주어진 email 들로 새 filter 를 만들어 교체합니다.
+     * 만드는 동안 put 된 email 은 새 filter 에도 넣습니다.
+     */
+    public synchronized void rebuild(long expectedEmails, Stream<String> emails) {
+        long nextCapacity = capacity(expectedEmails);
+        BloomFilter<CharSequence> next = create(nextCapacity);
+        rebuilding = next;
+
+        AtomicLong count = new AtomicLong();
+        emails.forEach(email -> {
+            next.put(email);
+            count.incrementAndGet();
+        });
+
+        filter = next;
+        capacity = nextCapacity;
+        rebuilding = null;
+        emailCount.set(count.get());
+        staleCount.set(0);
+    }
+
+    public void clear() {
+        rebuild(0, Stream.empty());
+    }
+
+    private static long capacity(long expectedEmails) {
+        return Math.max(expectedEmails * 2, MIN_EXPECTED_EMAILS);
+    }
+
+    private static BloomFilter<CharSequence> create(long capacity) {
+        return BloomFilter.create(
+                Funnels.stringFunnel(StandardCharsets.UTF_8),
+                capacity,
+                FALSE_POSITIVE_PROBABILITY);
+    }
+}
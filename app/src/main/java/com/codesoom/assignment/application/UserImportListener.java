@@ -0,0 +1,13 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.dto.UserImportFailure;
+import com.codesoom.assignment.dto.UserImportProgress;
+
+/**
+ * 가져오기 중 실패한 행과 진행 상황을 바로 받아 갑니다.
+ */
+public interface UserImportListener {
+    void onFailure(UserImportFailure failure);
+
+    void onProgress(UserImportProgress progress);
+}
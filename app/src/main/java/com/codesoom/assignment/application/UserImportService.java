@@ -0,0 +1,279 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.PasswordHashingOverloadException;
+import com.codesoom.assignment.domain.User;
+import com.codesoom.assignment.domain.UserRepository;
+import com.codesoom.assignment.dto.UserCreateRequest;
+import com.codesoom.assignment.dto.UserImportFailure;
+import com.codesoom.assignment.dto.UserImportProgress;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 대량의 user 를 IMPORT_CHUNK_SIZE 개씩 나누어 트랜잭션마다 배치 INSERT 로 저장합니다.
+ * 레코드는 하나씩 읽으므로 파일 전체를 메모리에 올리지 않습니다.
+ */
+@Service
+public class UserImportService {
+    static final int IMPORT_CHUNK_SIZE = 500;
+
+    private final UserRepository userRepository;
+    private final UserEmailFilter userEmailFilter;
+    private final UserCommandService userCommandService;
+    private final PasswordHasher passwordHasher;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final Counter importedCounter;
+    private final Counter failedCounter;
+
+    public UserImportService(UserRepository userRepository,
+                             UserEmailFilter userEmailFilter,
+                             UserCommandService userCommandService,
+                             PasswordHasher passwordHasher,
+                             EntityManager entityManager,
+                             TransactionTemplate transactionTemplate,
+                             Validator validator,
+                             MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.userEmailFilter = userEmailFilter;
+        this.userCommandService = userCommandService;
+        this.passwordHasher = passwordHasher;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+
+        this.importedCounter = Counter.builder("users.import.rows")
+                .description("가져오기 요청에서 처리한 행 수")
+                .tag("result", "imported")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("users.import.rows")
+                .description("가져오기 요청에서 처리한 행 수")
+                .tag("result", "failed")
+                .register(meterRegistry);
+    }
+
+    public UserImportProgress importUsers(MappingIterator<UserCreateRequest> records,
+                                          UserImportListener listener) {
+        Progress progress = new Progress(listener, importedCounter, failedCounter);
+        List<Row> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        Set<String> chunkEmails = new HashSet<>();
+
+        for (long row = 1; ; row += 1) {
+            UserCreateRequest request;
+            try {
+                if (!records.hasNextValue()) {
+                    break;
+                }
+                request = records.nextValue();
+            } catch (JsonParseException e) {
+                progress.fail(row, HttpStatus.BAD_REQUEST, List.of(e.getOriginalMessage()));
+                break;
+            } catch (IOException | RuntimeException e) {
+                progress.fail(row, HttpStatus.BAD_REQUEST, List.of(parseErrorMessage(e)));
+                continue;
+            }
+
+            List<String> errors = validate(request);
+            if (!errors.isEmpty()) {
+                progress.fail(row, HttpStatus.BAD_REQUEST, errors);
+                continue;
+            }
+
+            String email = request.getEmail();
+            if (!chunkEmails.add(email)
+                    || (userEmailFilter.mightContain(email) && userRepository.existsByEmail(email))) {
+                progress.fail(row, HttpStatus.CONFLICT, List.of("email already exists"));
+                continue;
+            }
+
+            chunk.add(new Row(row, request));
+            if (chunk.size() == IMPORT_CHUNK_SIZE) {
+                saveChunk(chunk, progress);
+                chunk.clear();
+                chunkEmails.clear();
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            saveChunk(chunk, progress);
+        }
+
+        return progress.done();
+    }
+
+    private String parseErrorMessage(Exception e) {
+        Throwable cause = e instanceof RuntimeJsonMappingException ? e.getCause() : e;
+        if (cause instanceof JsonProcessingException) {
+            return ((JsonProcessingException) cause).getOriginalMessage();
+        }
+        return cause.getMessage();
+    }
+
+    private List<String> validate(UserCreateRequest request) {
+        Set<ConstraintViolation<UserCreateRequest>> violations = validator.validate(request);
+
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private void saveChunk(List<Row> chunk, Progress progress) {
+        List<User> users;
+        try {
+            users = toUsers(chunk);
+        } catch (PasswordHashingOverloadException e) {
+            chunk.forEach(row ->
+                    progress.fail(row.number, HttpStatus.SERVICE_UNAVAILABLE, List.of(e.getMessage())));
+            progress.report();
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> saveUsers(users));
+            progress.succeed(users.size());
+        } catch (DataIntegrityViolationException e) {
+            saveOneByOne(chunk, users, progress);
+        }
+
+        userCommandService.reindexEmailsIfNeeded();
+
+        progress.report();
+    }
+
+    /**
+     * 다른 요청과 email 이 겹쳐 chunk 저장이 실패하면 어느 행이 문제인지 알 수 있도록 하나씩 저장합니다.
+     */
+    private void saveOneByOne(List<Row> chunk, List<User> users, Progress progress) {
+        for (int index = 0; index < chunk.size(); index += 1) {
+            User user = copyWithoutId(users.get(index));
+            try {
+                transactionTemplate.executeWithoutResult(status -> saveUsers(List.of(user)));
+                progress.succeed(1);
+            } catch (DataIntegrityViolationException e) {
+                if (!UserEmailConstraint.isViolatedBy(e)) {
+                    throw e;
+                }
+                progress.fail(chunk.get(index).number, HttpStatus.CONFLICT, List.of("email already exists"));
+            }
+        }
+    }
+
+    private void saveUsers(List<User> users) {
+        users.forEach(userRepository::save);
+
+        try {
+            entityManager.flush();
+        } catch (PersistenceException e) {
+            if (e.getCause() instanceof ConstraintViolationException) {
+                throw new DataIntegrityViolationException(e.getMessage(), e);
+            }
+            throw e;
+        }
+        entityManager.clear();
+
+        users.forEach(user -> userEmailFilter.put(user.getEmail()));
+    }
+
+    private List<User> toUsers(List<Row> chunk) {
+        List<String> hashedPasswords = passwordHasher.hashAll(chunk.stream()
+                .map(row -> row.request.getPassword())
+                .collect(Collectors.toList()));
+
+        List<User> users = new ArrayList<>(chunk.size());
+        for (int index = 0; index < chunk.size(); index += 1) {
+            UserCreateRequest request = chunk.get(index).request;
+            users.add(User.builder()
+                    .email(request.getEmail())
+                    .name(request.getName())
+                    .password(hashedPasswords.get(index))
+                    .build());
+        }
+        return users;
+    }
+
+    private User copyWithoutId(User user) {
+        return User.builder()
+                .email(user.getEmail())
+                .name(user.getName())
+                .password(user.getPassword())
+                .build();
+    }
+
+    private static class Row {
+        private final long number;
+        private final UserCreateRequest request;
+
+        private Row(long number, UserCreateRequest request) {
+            this.number = number;
+            this.request = request;
+        }
+    }
+
+    private static class Progress {
+        private final UserImportListener listener;
+        private final Counter importedCounter;
+        private final Counter failedCounter;
+        private long imported;
+        private long failed;
+
+        private Progress(UserImportListener listener, Counter importedCounter, Counter failedCounter) {
+            this.listener = listener;
+            this.importedCounter = importedCounter;
+            this.failedCounter = failedCounter;
+        }
+
+        private void succeed(long count) {
+            imported += count;
+            importedCounter.increment(count);
+        }
+
+        private void fail(long row, HttpStatus status, List<String> errors) {
+            failed += 1;
+            failedCounter.increment();
+            listener.onFailure(UserImportFailure.builder()
+                    .row(row)
+                    .status(status.value())
+                    .errors(errors)
+                    .build());
+        }
+
+        private void report() {
+            listener.onProgress(snapshot(false));
+        }
+
+        private UserImportProgress done() {
+            return snapshot(true);
+        }
+
+        private UserImportProgress snapshot(boolean done) {
+            return UserImportProgress.builder()
+                    .processed(imported + failed)
+                    .imported(imported)
+                    .failed(failed)
+                    .done(done)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.UserNotFoundException;
+import com.codesoom.assignment.domain.UserRepository;
+import com.codesoom.assignment.domain.UserSummary;
+import com.codesoom.assignment.infra.ReplicaRoutingDataSource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * user 조회는 읽기 전용 트랜잭션에서 id, name, email 컬럼만 읽습니다.
+ */
+@Service
+@Transactional(readOnly = true)
+public class UserQueryService {
+    private final UserRepository userRepository;
+
+    public UserQueryService(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * after 보다 큰 id 의 user 를 id 순서로 limit 개까지 리턴합니다.
+     * namePrefix, emailPrefix 가 주어지면 그 값으로 시작하는 user 만 리턴합니다.
+     * 조건은 id 순서로 primary key 를 읽으면서 거르므로, 맞는 user 가 드물면 그만큼 더 읽습니다.
+     */
+    public List<UserSummary> getUsers(Long after, int limit, String namePrefix, String emailPrefix) {
+        return userRepository.findSummaries(
+                after,
+                likePrefix(namePrefix),
+                likePrefix(emailPrefix),
+                PageRequest.of(0, limit)
+        );
+    }
+
+    /**
+     * 복제본에서 찾지 못하면 primary 에서 한 번 더 읽습니다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UserSummary getUser(Long id) {
+        return userRepository.findSummaryById(id)
+                .or(() -> ReplicaRoutingDataSource.onPrimary(() -> userRepository.findSummaryById(id)))
+                .orElseThrow(() -> new UserNotFoundException(id + "에 해당하는 user를 찾지 못했습니다."));
+    }
+
+    private String likePrefix(String prefix) {
+        if (prefix == null || prefix.isEmpty()) {
+            return null;
+        }
+
+        return prefix.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+    }
+}
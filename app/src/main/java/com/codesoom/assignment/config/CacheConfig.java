@@ -0,0 +1,15 @@
+package com.codesoom.assignment.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * 캐시 advice 가 트랜잭션 advice 바깥에서 동작하도록 해서,
+ * 캐시 무효화가 커밋 이후에 일어나게 합니다.
+ * 메서드 지표를 기록하는 MethodMetricsAspect 는 이보다 바깥에 둡니다.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE + 1)
+public class CacheConfig {
+}
@@ -0,0 +1,104 @@
+package com.codesoom.assignment.config;
+
+import com.codesoom.assignment.infra.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Scope;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * spring.datasource 를 primary 로, replica-datasource.urls 의 각 URL 을 복제본으로 하는
+ * ReplicaRoutingDataSource 를 만듭니다. 복제본이 없으면 모든 연결이 primary 로 갑니다.
+ *
+ * 커넥션 풀 설정은 Spring Boot 와 같이 primary 는 spring.datasource.hikari.* 에서,
+ * 복제본은 replica-datasource.hikari.* 에서 읽습니다.
+ */
+@Configuration
+public class DataSourceConfig {
+    private static final long REPLICA_CONNECTION_TIMEOUT_MILLIS = 250;
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariConfig primaryHikariConfig() {
+        return new HikariConfig();
+    }
+
+    /**
+     * 복제본마다 따로 바인딩한 설정을 쓰도록 prototype 으로 만듭니다.
+     * 여기서 정한 기본값은 replica-datasource.hikari.* 로 덮어쓸 수 있습니다.
+     */
+    @Bean
+    @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+    @ConfigurationProperties("replica-datasource.hikari")
+    public HikariConfig replicaHikariConfig() {
+        HikariConfig config = new HikariConfig();
+        config.setReadOnly(true);
+        // 복제본이 내려가 있어도 애플리케이션은 뜨고, 연결 실패는 빨리 primary 로 넘깁니다.
+        config.setInitializationFailTimeout(-1);
+        config.setConnectionTimeout(REPLICA_CONNECTION_TIMEOUT_MILLIS);
+        return config;
+    }
+
+    /**
+     * 트랜잭션이 시작된 뒤 첫 SQL 을 실행할 때 연결을 얻어야 읽기 전용 여부로 라우팅할 수 있으므로
+     * LazyConnectionDataSourceProxy 로 감쌉니다.
+     */
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties,
+                                 @Value("${replica-datasource.urls:}") List<String> replicaUrls,
+                                 @Value("${replica-datasource.max-lag}") Duration maxLag,
+                                 @Value("${replica-datasource.retry-after}") Duration retryAfter,
+                                 MeterRegistry meterRegistry) {
+        HikariDataSource primary = createPool(primaryHikariConfig(), "primary",
+                properties.determineUrl(), properties, meterRegistry);
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            replicas.add(createPool(replicaHikariConfig(), "replica-" + (replicas.size() + 1),
+                    url, properties, meterRegistry));
+        }
+
+        routingDataSource = new ReplicaRoutingDataSource(primary, replicas, maxLag, retryAfter);
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @PreDestroy
+    public void closeDataSource() throws Exception {
+        if (routingDataSource != null) {
+            routingDataSource.close();
+        }
+    }
+
+    /**
+     * 설정으로 풀을 만들면 곧바로 연결을 채우기 시작합니다. 첫 요청이 빈 풀에서 연결이 만들어지기를
+     * 기다리다 복제본의 짧은 connectionTimeout 을 넘기지 않게 합니다.
+     */
+    private HikariDataSource createPool(HikariConfig config,
+                                        String poolName,
+                                        String url,
+                                        DataSourceProperties properties,
+                                        MeterRegistry meterRegistry) {
+        config.setPoolName(poolName);
+        config.setJdbcUrl(url);
+        config.setUsername(properties.determineUsername());
+        config.setPassword(properties.determinePassword());
+        config.setDriverClassName(properties.determineDriverClassName());
+        config.setMetricRegistry(meterRegistry);
+        return new HikariDataSource(config);
+    }
+}
@@ -0,0 +1,141 @@
+package com.codesoom.assignment.config;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * /actuator/jfr 로 JFR 기록을 시작(POST), 조회(GET), 내려받기(GET /dump), 종료(DELETE)합니다.
+ * 기록은 max-age 와 max-size 를 넘는 오래된 데이터부터 버리므로 계속 켜 두어도 디스크를 일정하게 씁니다.
+ */
+@Component
+@Endpoint(id = "jfr")
+public class FlightRecordingEndpoint {
+    private static final String RECORDING_NAME = "codesoom-assignment";
+    private static final String DUMP = "dump";
+
+    private final boolean enabled;
+    private final String settings;
+    private final Duration maxAge;
+    private final DataSize maxSize;
+
+    private Recording recording;
+
+    public FlightRecordingEndpoint(@Value("${jfr.enabled}") boolean enabled,
+                                   @Value("${jfr.settings}") String settings,
+                                   @Value("${jfr.max-age}") Duration maxAge,
+                                   @Value("${jfr.max-size}") DataSize maxSize) {
+        this.enabled = enabled;
+        this.settings = settings;
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnReady() {
+        if (enabled) {
+            start(null, null, null);
+        }
+    }
+
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", RecordingState.CLOSED);
+            return status;
+        }
+
+        status.put("state", recording.getState());
+        status.put("name", recording.getName());
+        status.put("startTime", recording.getStartTime());
+        status.put("maxAge", recording.getMaxAge());
+        status.put("maxSize", recording.getMaxSize());
+        status.put("size", recording.getSize());
+        return status;
+    }
+
+    /**
+     * 기록을 시작합니다. 이미 기록 중이면 그대로 두고 상태만 리턴합니다.
+     *
+     * @param settings JDK 설정 이름(default, profile). 없으면 jfr.settings 를 씁니다.
+     */
+    @WriteOperation
+    public synchronized Map<String, Object> start(@Nullable String settings,
+                                                  @Nullable Duration maxAge,
+                                                  @Nullable DataSize maxSize) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return status();
+        }
+        close();
+
+        Configuration configuration = configuration(settings == null ? this.settings : settings);
+        recording = new Recording(configuration);
+        recording.setName(RECORDING_NAME);
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge == null ? this.maxAge : maxAge);
+        recording.setMaxSize((maxSize == null ? this.maxSize : maxSize).toBytes());
+        recording.start();
+        return status();
+    }
+
+    /**
+     * 지금까지 기록한 내용을 .jfr 파일로 내려줍니다. 기록은 멈추지 않습니다.
+     * 임시 파일은 응답을 다 쓰고 스트림을 닫을 때 지워집니다.
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized Resource dump(@Selector String action) throws IOException {
+        if (!DUMP.equals(action) || recording == null) {
+            return null;
+        }
+
+        Path file = Files.createTempFile(RECORDING_NAME, ".jfr");
+        recording.dump(file);
+        return new InputStreamResource(Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE));
+    }
+
+    @DeleteOperation
+    @PreDestroy
+    public synchronized void stop() {
+        close();
+    }
+
+    private void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private Configuration configuration(String name) {
+        try {
+            return Configuration.getConfiguration(name);
+        } catch (IOException | ParseException e) {
+            throw new InvalidEndpointRequestException("Unknown JFR settings: " + name, "Unknown JFR settings");
+        }
+    }
+}
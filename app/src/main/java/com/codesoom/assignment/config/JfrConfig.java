@@ -0,0 +1,55 @@
+package com.codesoom.assignment.config;
+
+import com.codesoom.assignment.infra.HttpRequestEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 요청마다 응답 본문 직렬화까지 포함한 처리 시간을 HttpRequestEvent 로 남깁니다.
+ */
+@Configuration
+public class JfrConfig implements WebMvcConfigurer {
+    private static final String EVENT_ATTRIBUTE = HttpRequestEvent.class.getName();
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HttpRequestEventInterceptor());
+    }
+
+    private static class HttpRequestEventInterceptor implements HandlerInterceptor {
+        @Override
+        public boolean preHandle(HttpServletRequest request,
+                                 HttpServletResponse response,
+                                 Object handler) {
+            HttpRequestEvent event = new HttpRequestEvent();
+            if (event.isEnabled()) {
+                event.begin();
+                request.setAttribute(EVENT_ATTRIBUTE, event);
+            }
+            return true;
+        }
+
+        @Override
+        public void afterCompletion(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    Object handler,
+                                    Exception ex) {
+            Object event = request.getAttribute(EVENT_ATTRIBUTE);
+            if (event == null) {
+                return;
+            }
+            request.removeAttribute(EVENT_ATTRIBUTE);
+
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            ((HttpRequestEvent) event).finish(request.getMethod(),
+                    pattern == null ? request.getRequestURI() : pattern.toString(),
+                    response.getStatus());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.codesoom.assignment.config;
+
+import com.codesoom.assignment.infra.ControllerEvent;
+import com.codesoom.assignment.infra.RepositoryCallEvent;
+import com.codesoom.assignment.infra.TransactionEvent;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 리포지토리 호출, 트랜잭션 경계, 컨트롤러 처리를 JFR 이벤트로 남깁니다.
+ * 기록 중이 아니거나 임계값보다 짧으면 이벤트를 만들지 않으므로 항상 켜 두어도 됩니다.
+ * 트랜잭션 advice 보다 바깥에서 동작하므로 TransactionEvent 에는 커밋 시간이 포함됩니다.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class JfrEventAspect {
+    @Around("this(org.springframework.data.repository.Repository) && execution(public * *(..))")
+    public Object recordRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        Throwable failure = null;
+        event.begin();
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            event.finish(TargetNames.of(joinPoint.getTarget().getClass()),
+                    joinPoint.getSignature().getName(), failure);
+        }
+    }
+
+    @Around("execution(public * com.codesoom.assignment.application.*Service.*(..))"
+            + " && (@within(org.springframework.transaction.annotation.Transactional)"
+            + " || @annotation(org.springframework.transaction.annotation.Transactional))")
+    public Object recordTransaction(ProceedingJoinPoint joinPoint) throws Throwable {
+        TransactionEvent event = new TransactionEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        boolean joined = TransactionSynchronizationManager.isActualTransactionActive();
+        Throwable failure = null;
+        event.begin();
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            event.finish(TargetNames.of(joinPoint.getTarget().getClass()),
+                    joinPoint.getSignature().getName(), joined, failure);
+        }
+    }
+
+    @Around("within(@org.springframework.web.bind.annotation.RestController *)"
+            + " && execution(public * *(..))")
+    public Object recordController(ProceedingJoinPoint joinPoint) throws Throwable {
+        ControllerEvent event = new ControllerEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        Throwable failure = null;
+        event.begin();
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            event.finish(TargetNames.of(joinPoint.getTarget().getClass()),
+                    joinPoint.getSignature().getName(), failure);
+        }
+    }
+}
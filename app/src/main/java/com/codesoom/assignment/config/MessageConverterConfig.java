@@ -0,0 +1,20 @@
+package com.codesoom.assignment.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Accept 헤더로 상품 목록을 protobuf 로 받을 수 있게 합니다.
+ * 맨 뒤에 붙여서 Accept 가 없거나 모든 형식을 받는 요청에는 지금처럼 JSON 으로 응답합니다.
+ * CBOR, Smile 은 jackson-dataformat-cbor, -smile 이 있으면 Spring 이 기본으로 등록합니다.
+ */
+@Configuration
+public class MessageConverterConfig implements WebMvcConfigurer {
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new ProductProtobufHttpMessageConverter());
+    }
+}
@@ -0,0 +1,100 @@
+package com.codesoom.assignment.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 서비스와 리포지토리 메서드마다 실행 시간을 class, method, exception 태그로 기록합니다.
+ * 캐시 advice 보다 바깥에서 동작하므로 캐시에서 응답한 호출도 서비스 시간에 포함됩니다.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MethodMetricsAspect {
+    static final String SERVICE_TIMER = "app.service.calls";
+    static final String REPOSITORY_TIMER = "app.repository.calls";
+
+    private static final String NO_EXCEPTION = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    public MethodMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.codesoom.assignment.application.*Service.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(SERVICE_TIMER, joinPoint);
+    }
+
+    @Around("this(org.springframework.data.repository.Repository) && execution(public * *(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(REPOSITORY_TIMER, joinPoint);
+    }
+
+    private Object time(String name, ProceedingJoinPoint joinPoint) throws Throwable {
+        Class<?> type = joinPoint.getTarget().getClass();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Object result = joinPoint.proceed();
+            sample.stop(timers.computeIfAbsent(new TimerKey(name, type, method),
+                    key -> timer(key, NO_EXCEPTION)));
+            return result;
+        } catch (Throwable e) {
+            sample.stop(timer(new TimerKey(name, type, method), e.getClass().getSimpleName()));
+            throw e;
+        }
+    }
+
+    private Timer timer(TimerKey key, String exception) {
+        return Timer.builder(key.name)
+                .tag("class", TargetNames.of(key.type))
+                .tag("method", key.method.getName())
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+
+    private static class TimerKey {
+        private final String name;
+        private final Class<?> type;
+        private final Method method;
+
+        private TimerKey(String name, Class<?> type, Method method) {
+            this.name = name;
+            this.type = type;
+            this.method = method;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof TimerKey)) {
+                return false;
+            }
+            TimerKey key = (TimerKey) other;
+            return name.equals(key.name) && type.equals(key.type) && method.equals(key.method);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, type, method);
+        }
+    }
+}
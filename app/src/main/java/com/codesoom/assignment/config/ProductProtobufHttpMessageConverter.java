@@ -0,0 +1,196 @@
+package com.codesoom.assignment.config;
+
+import com.codesoom.assignment.dto.ProductResponse;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 상품 목록을 resources/proto/products.proto 의 ProductList 메시지로 씁니다.
+ * 생성된 클래스 없이 CodedOutputStream 으로 바로 쓰며, ProductResponse 와
+ * fields 로 고른 컬럼만 담긴 Map 을 모두 받습니다. 값이 null 인 필드는 쓰지 않습니다.
+ * 원소 타입이 둘 중 하나이거나, 두 가지를 모두 돌려주는 상품 목록처럼 List<?>(List<Object>)
+ * 로 선언된 목록만 쓰므로 다른 목록을 protobuf 로 요청하면 406 을 응답합니다.
+ */
+public class ProductProtobufHttpMessageConverter implements GenericHttpMessageConverter<List<?>> {
+    public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "x-protobuf");
+
+    private static final int PRODUCTS = 1;
+
+    private static final int ID = 1;
+    private static final int NAME = 2;
+    private static final int MAKER = 3;
+    private static final int PRICE = 4;
+    private static final int IMAGE_URL = 5;
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes() {
+        return List.of(APPLICATION_PROTOBUF);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public List<?> read(Class<? extends List<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf product list is write-only", inputMessage);
+    }
+
+    @Override
+    public List<?> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf product list is write-only", inputMessage);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return canWrite(clazz, clazz, mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (mediaType != null && !APPLICATION_PROTOBUF.isCompatibleWith(mediaType)) {
+            return false;
+        }
+
+        ResolvableType listType = ResolvableType.forType(type).as(List.class);
+        if (listType == ResolvableType.NONE) {
+            return false;
+        }
+
+        ResolvableType elementType = listType.getGeneric(0);
+        if (elementType.getType() instanceof WildcardType) {
+            return elementType.resolve(Object.class) == Object.class;
+        }
+
+        Class<?> elementClass = elementType.resolve();
+        return elementClass == Object.class
+                || elementClass != null
+                && (ProductResponse.class.isAssignableFrom(elementClass)
+                || Map.class.isAssignableFrom(elementClass));
+    }
+
+    @Override
+    public void write(List<?> products, MediaType contentType, HttpOutputMessage outputMessage)
+            throws IOException {
+        write(products, null, contentType, outputMessage);
+    }
+
+    @Override
+    public void write(List<?> products, Type type, MediaType contentType, HttpOutputMessage outputMessage)
+            throws IOException {
+        HttpHeaders headers = outputMessage.getHeaders();
+        if (headers.getContentType() == null) {
+            headers.setContentType(contentType == null || !contentType.isConcrete()
+                    ? APPLICATION_PROTOBUF
+                    : contentType);
+        }
+
+        CodedOutputStream output = CodedOutputStream.newInstance(outputMessage.getBody());
+
+        for (Object product : products) {
+            Fields fields = Fields.of(product);
+            output.writeTag(PRODUCTS, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            output.writeUInt32NoTag(fields.size());
+            fields.writeTo(output);
+        }
+
+        output.flush();
+    }
+
+    private static class Fields {
+        private final Long id;
+        private final String name;
+        private final String maker;
+        private final Integer price;
+        private final String imageUrl;
+
+        private Fields(Long id, String name, String maker, Integer price, String imageUrl) {
+            this.id = id;
+            this.name = name;
+            this.maker = maker;
+            this.price = price;
+            this.imageUrl = imageUrl;
+        }
+
+        static Fields of(Object product) {
+            if (product instanceof ProductResponse) {
+                ProductResponse response = (ProductResponse) product;
+                return new Fields(response.getId(), response.getName(), response.getMaker(),
+                        response.getPrice(), response.getImageUrl());
+            }
+
+            if (product instanceof Map) {
+                Map<?, ?> fields = (Map<?, ?>) product;
+                Number id = (Number) fields.get("id");
+                Number price = (Number) fields.get("price");
+                return new Fields(
+                        id == null ? null : id.longValue(),
+                        (String) fields.get("name"),
+                        (String) fields.get("maker"),
+                        price == null ? null : price.intValue(),
+                        (String) fields.get("imageUrl"));
+            }
+
+            throw new HttpMessageNotWritableException(
+                    "Cannot write " + product.getClass().getName() + " as protobuf");
+        }
+
+        int size() {
+            int size = 0;
+            if (id != null) {
+                size += CodedOutputStream.computeInt64Size(ID, id);
+            }
+            if (name != null) {
+                size += CodedOutputStream.computeStringSize(NAME, name);
+            }
+            if (maker != null) {
+                size += CodedOutputStream.computeStringSize(MAKER, maker);
+            }
+            if (price != null) {
+                size += CodedOutputStream.computeInt32Size(PRICE, price);
+            }
+            if (imageUrl != null) {
+                size += CodedOutputStream.computeStringSize(IMAGE_URL, imageUrl);
+            }
+            return size;
+        }
+
+        void writeTo(CodedOutputStream output) throws IOException {
+            if (id != null) {
+                output.writeInt64(ID, id);
+            }
+            if (name != null) {
+                output.writeString(NAME, name);
+            }
+            if (maker != null) {
+                output.writeString(MAKER, maker);
+            }
+            if (price != null) {
+                output.writeInt32(PRICE, price);
+            }
+            if (imageUrl != null) {
+                output.writeString(IMAGE_URL, imageUrl);
+            }
+        }
+    }
+}
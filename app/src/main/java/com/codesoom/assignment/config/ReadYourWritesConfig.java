@@ -0,0 +1,84 @@
+package com.codesoom.assignment.config;
+
+import com.codesoom.assignment.infra.ReplicaRoutingDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 요청을 보낸 클라이언트가 마지막으로 쓴 시각을 last-write 쿠키로 주고받아
+ * 쓰기 직후의 읽기만 primary 로 보내게 합니다. 다른 클라이언트의 읽기는 계속 복제본으로 갑니다.
+ * 한 요청에서 여러 번 커밋하면 쿠키에는 처음 커밋한 시각을 씁니다.
+ */
+@Configuration
+public class ReadYourWritesConfig implements WebMvcConfigurer {
+    public static final String LAST_WRITE_COOKIE = "last-write";
+
+    private final Duration maxLag;
+
+    public ReadYourWritesConfig(@Value("${replica-datasource.max-lag}") Duration maxLag) {
+        this.maxLag = maxLag;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new LastWriteInterceptor());
+    }
+
+    private class LastWriteInterceptor implements HandlerInterceptor {
+        @Override
+        public boolean preHandle(HttpServletRequest request,
+                                 HttpServletResponse response,
+                                 Object handler) {
+            AtomicBoolean cookieAdded = new AtomicBoolean();
+            ReplicaRoutingDataSource.bindClient(lastWriteMillis(request), millis -> {
+                if (!response.isCommitted() && cookieAdded.compareAndSet(false, true)) {
+                    response.addCookie(lastWriteCookie(millis));
+                }
+            });
+            return true;
+        }
+
+        @Override
+        public void afterCompletion(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    Object handler,
+                                    Exception ex) {
+            ReplicaRoutingDataSource.unbindClient();
+        }
+    }
+
+    /**
+     * 쿠키가 없거나 잘못되었거나 미래 시각이면 쓴 적이 없는 것으로 봅니다.
+     */
+    private long lastWriteMillis(HttpServletRequest request) {
+        Cookie cookie = WebUtils.getCookie(request, LAST_WRITE_COOKIE);
+        if (cookie == null) {
+            return 0L;
+        }
+
+        try {
+            long millis = Long.parseLong(cookie.getValue());
+            return millis <= System.currentTimeMillis() ? millis : 0L;
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    private Cookie lastWriteCookie(long millis) {
+        Cookie cookie = new Cookie(LAST_WRITE_COOKIE, String.valueOf(millis));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, (maxLag.toMillis() + 999) / 1000));
+        return cookie;
+    }
+}
@@ -0,0 +1,29 @@
+package com.codesoom.assignment.config;
+
+import org.springframework.util.ClassUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * advice 대상 객체를 지표와 이벤트에 남길 짧은 이름으로 바꿉니다.
+ * Spring Data 리포지토리는 JDK 프록시이므로 프록시가 구현한 이 애플리케이션의 인터페이스 이름을 씁니다.
+ */
+final class TargetNames {
+    private static final String BASE_PACKAGE = "com.codesoom.assignment";
+    private static final Map<Class<?>, String> NAMES = new ConcurrentHashMap<>();
+
+    private TargetNames() {
+    }
+
+    static String of(Class<?> type) {
+        return NAMES.computeIfAbsent(type, key -> {
+            for (Class<?> candidate : ClassUtils.getAllInterfacesForClassAsSet(key)) {
+                if (candidate.getName().startsWith(BASE_PACKAGE)) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return ClassUtils.getUserClass(key).getSimpleName();
+        });
+    }
+}
@@ -0,0 +1,12 @@
+package com.codesoom.assignment.controllers;
+
+/**
+ * Spring 의 MediaType 에 없는 미디어 타입입니다.
+ */
+final class MediaTypes {
+    static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    static final String TEXT_CSV_VALUE = "text/csv";
+
+    private MediaTypes() {
+    }
+}
@@ -1,6 +1,9 @@
 package com.codesoom.assignment.controllers;
 
+import com.codesoom.assignment.PasswordHashingOverloadException;
 import com.codesoom.assignment.ProductNotFoundException;
+import com.codesoom.assignment.ProductPriceOutOfRangeException;
+import com.codesoom.assignment.UserEmailDuplicationException;
 import com.codesoom.assignment.UserNotFoundException;
 import com.codesoom.assignment.dto.ErrorResponse;
 import org.springframework.http.HttpStatus;
@@ -24,4 +27,25 @@ public class NotFoundErrorAdvice {
     public ErrorResponse handleProductUserNotFound() {
         return new ErrorResponse("User not found");
     }
+
+    @ResponseBody
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(ProductPriceOutOfRangeException.class)
+    public ErrorResponse handleProductPriceOutOfRange() {
+        return new ErrorResponse("Scaled price is out of range");
+    }
+
+    @ResponseBody
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(UserEmailDuplicationException.class)
+    public ErrorResponse handleUserEmailDuplication() {
+        return new ErrorResponse("User email already exists");
+    }
+
+    @ResponseBody
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(PasswordHashingOverloadException.class)
+    public ErrorResponse handlePasswordHashingOverload() {
+        return new ErrorResponse("Too many requests, try again later");
+    }
 }
@@ -0,0 +1,19 @@
+package com.codesoom.assignment.controllers;
+
+/**
+ * 목록 API 가 함께 쓰는 페이지 크기입니다.
+ */
+final class Pagination {
+    static final int DEFAULT_PAGE_SIZE = 100;
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private Pagination() {
+    }
+
+    /**
+     * 요청한 limit 을 1 이상 MAX_PAGE_SIZE 이하로 맞춥니다.
+     */
+    static int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+}
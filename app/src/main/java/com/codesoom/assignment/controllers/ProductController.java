@@ -2,52 +2,209 @@ package com.codesoom.assignment.controllers;
 
 import com.codesoom.assignment.application.ProductService;
 import com.codesoom.assignment.domain.Product;
+import com.codesoom.assignment.dto.ProductBulkResult;
+import com.codesoom.assignment.dto.ProductBulkUpdateRequest;
 import com.codesoom.assignment.dto.ProductData;
 import com.codesoom.assignment.dto.ProductResponse;
+import com.codesoom.assignment.dto.ProductUpdateReport;
+import com.codesoom.assignment.infra.MappingEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.InitBinder;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.ConstraintViolation;
 import javax.validation.Valid;
+import javax.validation.Validator;
+import java.beans.PropertyEditorSupport;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RestController
-@CrossOrigin
+@CrossOrigin(exposedHeaders = HttpHeaders.LINK)
 @RequestMapping("/products")
 public class ProductController {
     private final ProductService productService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService,
+                             ObjectMapper objectMapper,
+                             Validator validator) {
         this.productService = productService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
     }
 
+    @InitBinder
+    public void initBinder(WebDataBinder binder) {
+        binder.registerCustomEditor(Sort.Direction.class, new PropertyEditorSupport() {
+            @Override
+            public void setAsText(String text) {
+                setValue(Sort.Direction.fromString(text));
+            }
+        });
+    }
+
+    /**
+     * 상품 목록을 id 순서로 한 페이지씩 fields 에 해당하는 컬럼만 읽어서 리턴합니다.
+     * 다음 페이지 주소는 Link 헤더로, 전체 목록은 all=true 일 때만 리턴합니다.
+     * 가격 조건이 주어지면 가격 범위 안의 상품을 가격 순서로 limit 개까지 리턴합니다.
+     * 응답할 상품들이 If-None-Match 이후로 바뀌지 않았다면 직렬화하지 않고 304 를 응답합니다.
+     * Accept 에 따라 JSON, CBOR, Smile, protobuf 로 응답하므로 캐시가 형식별로 저장하도록
+     * Vary: Accept 를 붙입니다.
+     */
     @GetMapping
-    public List<ProductResponse> list() {
-        List<Product> products = productService.getProducts();
-        List<ProductResponse> responseProducts = new ArrayList<>();
+    public ResponseEntity<List<?>> list(
+            @RequestParam(defaultValue = "0") Long after,
+            @RequestParam(defaultValue = "" + Pagination.DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(defaultValue = "false") boolean all,
+            @RequestParam(required = false) Integer minPrice,
+            @RequestParam(required = false) Integer maxPrice,
+            @RequestParam(required = false) Sort.Direction priceOrder,
+            @RequestParam(required = false) List<String> fields,
+            WebRequest request,
+            HttpServletResponse response
+    ) {
+        List<String> selectedFields = selectedFields(fields);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
 
-        products.forEach(
-                product -> {
-                    responseProducts.add(
-                            new ProductResponse(product)
+        if (all || minPrice != null || maxPrice != null || priceOrder != null) {
+            List<Product> products = all
+                    ? productService.getProducts()
+                    : productService.getProductsByPrice(
+                            minPrice,
+                            maxPrice,
+                            priceOrder == null ? Sort.Direction.ASC : priceOrder,
+                            Pagination.pageSize(limit)
                     );
+
+            if (request.checkNotModified(productsETag(products))) {
+                return null;
+            }
+
+            return ResponseEntity.ok(toResponses(products));
+        }
+
+        int pageSize = Pagination.pageSize(limit);
+        List<String> queryFields = new ArrayList<>(selectedFields);
+        if (!queryFields.contains("id")) {
+            queryFields.add("id");
+        }
+        queryFields.add("version");
+
+        List<Map<String, Object>> products =
+                productService.getProductsFields(after, pageSize, queryFields);
+
+        if (request.checkNotModified(productFieldsETag(products))) {
+            return null;
+        }
+
+        Long nextCursor = products.size() < pageSize
+                ? null
+                : (Long) products.get(products.size() - 1).get("id");
+
+        products.forEach(product -> {
+            product.remove("version");
+            if (!selectedFields.contains("id")) {
+                product.remove("id");
+            }
+        });
+
+        if (nextCursor == null) {
+            return ResponseEntity.ok(products);
+        }
+
+        String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("after", nextCursor)
+                .replaceQueryParam("limit", pageSize)
+                .toUriString();
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"")
+                .body(products);
+    }
+
+    @GetMapping("search")
+    public List<ProductResponse> search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "" + Pagination.DEFAULT_PAGE_SIZE) int limit
+    ) {
+        return toResponses(productService.searchProducts(q, Pagination.pageSize(limit)));
+    }
+
+    @GetMapping(value = "export", produces = MediaTypes.APPLICATION_NDJSON_VALUE)
+    public void export(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaTypes.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+
+        try (SequenceWriter writer = objectMapper.writerFor(ProductResponse.class)
+                .withRootValueSeparator("\n")
+                .writeValues(response.getOutputStream())) {
+            productService.exportProducts(product -> {
+                try {
+                    writer.write(new ProductResponse(product));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
                 }
-        );
-        return responseProducts;
+            });
+        }
     }
 
+    /**
+     * ETag 는 응답에 담을 상품을 읽은 결과의 version 으로 만들어, 본문과 다른 시점의 값이 되지 않게 합니다.
+     */
     @GetMapping("{id}")
-    public ProductResponse detail(@PathVariable Long id) {
+    public Object detail(
+            @PathVariable Long id,
+            @RequestParam(required = false) List<String> fields,
+            WebRequest request
+    ) {
+        if (fields != null) {
+            List<String> queryFields = new ArrayList<>(selectedFields(fields));
+            queryFields.add("version");
+
+            Map<String, Object> product = productService.getProductFields(id, queryFields);
+            Long version = (Long) product.remove("version");
+            if (request.checkNotModified(productETag(id, version))) {
+                return null;
+            }
+
+            return product;
+        }
+
         Product product = productService.getProduct(id);
+        if (request.checkNotModified(productETag(id, product.getVersion()))) {
+            return null;
+        }
+
         return new ProductResponse(product);
     }
 
@@ -58,6 +215,51 @@ public class ProductController {
         return new ProductResponse(product);
     }
 
+    /**
+     * 유효한 상품만 한꺼번에 저장하고, 요청 순서대로 항목별 결과를 리턴합니다.
+     */
+    @PostMapping("bulk")
+    public List<ProductBulkResult> createAll(@RequestBody List<ProductData> productDataList) {
+        List<ProductBulkResult> results = new ArrayList<>(productDataList.size());
+        List<ProductData> validProductDataList = new ArrayList<>();
+        List<Integer> validIndexes = new ArrayList<>();
+
+        for (int index = 0; index < productDataList.size(); index += 1) {
+            ProductData productData = productDataList.get(index);
+            Set<ConstraintViolation<ProductData>> violations = validator.validate(productData);
+
+            if (violations.isEmpty()) {
+                validProductDataList.add(productData);
+                validIndexes.add(index);
+                results.add(null);
+                continue;
+            }
+
+            results.add(ProductBulkResult.builder()
+                    .index(index)
+                    .status(HttpStatus.BAD_REQUEST.value())
+                    .errors(violations.stream()
+                            .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                            .sorted()
+                            .collect(Collectors.toList()))
+                    .build());
+        }
+
+        List<Product> products = productService.createProducts(validProductDataList);
+
+        for (int i = 0; i < products.size(); i += 1) {
+            int index = validIndexes.get(i);
+            results.set(index, ProductBulkResult.builder()
+                    .index(index)
+                    .status(HttpStatus.CREATED.value())
+                    .id(products.get(i).getId())
+                    .errors(List.of())
+                    .build());
+        }
+
+        return results;
+    }
+
     @PatchMapping("{id}")
     public ProductResponse update(
             @PathVariable Long id,
@@ -67,9 +269,74 @@ public class ProductController {
         return new ProductResponse(product);
     }
 
+    @PatchMapping
+    public ProductUpdateReport updateAll(
+            @RequestBody @Valid ProductBulkUpdateRequest request
+    ) {
+        return new ProductUpdateReport(productService.updateProducts(request));
+    }
+
     @DeleteMapping("{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void destroy(@PathVariable Long id) {
         productService.deleteProduct(id);
     }
+
+    private List<String> selectedFields(List<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return ProductResponse.FIELDS;
+        }
+
+        List<String> unknownFields = fields.stream()
+                .filter(field -> !ProductResponse.FIELDS.contains(field))
+                .collect(Collectors.toList());
+        if (!unknownFields.isEmpty()) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "Unknown fields: " + unknownFields);
+        }
+
+        return fields.stream()
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    private String productETag(Long id, Long version) {
+        return id + "-" + version;
+    }
+
+    private String productsETag(List<Product> products) {
+        return productsETag(products.stream()
+                .flatMap(product -> Stream.of(product.getId(), product.getVersion())));
+    }
+
+    private String productFieldsETag(List<Map<String, Object>> products) {
+        return productsETag(products.stream()
+                .flatMap(product -> Stream.of((Long) product.get("id"), (Long) product.get("version"))));
+    }
+
+    /**
+     * 목록 ETag 는 응답에 담긴 상품들의 id 와 version 으로 만듭니다. 다음 페이지 커서도 이 값들로 정해집니다.
+     * 목록은 gzip 으로 압축해 보낼 수 있으므로 약한 ETag 를 씁니다. Tomcat 은 강한 ETag 가 붙은 응답은 압축하지 않습니다.
+     */
+    private String productsETag(Stream<Long> idsAndVersions) {
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        idsAndVersions.forEach(hasher::putLong);
+        return "W/\"" + hasher.hash() + "\"";
+    }
+
+    private List<ProductResponse> toResponses(List<Product> products) {
+        MappingEvent event = MappingEvent.start();
+        List<ProductResponse> responseProducts = new ArrayList<>(products.size());
+
+        products.forEach(
+                product -> {
+                    responseProducts.add(
+                            new ProductResponse(product)
+                    );
+                }
+        );
+
+        event.finish(ProductResponse.class, responseProducts.size());
+        return responseProducts;
+    }
 }
@@ -1,29 +1,108 @@
 package com.codesoom.assignment.controllers;
 
 import com.codesoom.assignment.application.UserCommandService;
+import com.codesoom.assignment.application.UserImportListener;
+import com.codesoom.assignment.application.UserImportService;
+import com.codesoom.assignment.application.UserQueryService;
 import com.codesoom.assignment.domain.User;
+import com.codesoom.assignment.domain.UserSummary;
 import com.codesoom.assignment.dto.UserCreateRequest;
+import com.codesoom.assignment.dto.UserDeleteReport;
+import com.codesoom.assignment.dto.UserImportFailure;
+import com.codesoom.assignment.dto.UserImportProgress;
 import com.codesoom.assignment.dto.UserResponse;
 import com.codesoom.assignment.dto.UserUpdateRequest;
+import com.codesoom.assignment.infra.MappingEvent;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvFactory;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/users")
 public class UserController {
     private final UserCommandService userCommandService;
+    private final UserQueryService userQueryService;
+    private final UserImportService userImportService;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper csvMapper;
 
-    public UserController(UserCommandService userCommandService) {
+    public UserController(UserCommandService userCommandService,
+                          UserQueryService userQueryService,
+                          UserImportService userImportService,
+                          ObjectMapper objectMapper,
+                          Jackson2ObjectMapperBuilder objectMapperBuilder) {
         this.userCommandService = userCommandService;
+        this.userQueryService = userQueryService;
+        this.userImportService = userImportService;
+        this.objectMapper = objectMapper;
+        this.csvMapper = objectMapperBuilder.factory(new CsvFactory()).build();
+    }
+
+    /**
+     * user 목록을 id 순서로 한 페이지씩 리턴합니다. 다음 페이지 주소는 Link 헤더로 알려줍니다.
+     */
+    @GetMapping
+    public ResponseEntity<List<UserResponse>> list(
+            @RequestParam(defaultValue = "0") Long after,
+            @RequestParam(defaultValue = "" + Pagination.DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String email
+    ) {
+        int pageSize = Pagination.pageSize(limit);
+        List<UserSummary> summaries = userQueryService.getUsers(after, pageSize, name, email);
+
+        MappingEvent event = MappingEvent.start();
+        List<UserResponse> users = summaries.stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+        event.finish(UserResponse.class, users.size());
+
+        if (users.size() < pageSize) {
+            return ResponseEntity.ok(users);
+        }
+
+        String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("after", users.get(users.size() - 1).getId())
+                .replaceQueryParam("limit", pageSize)
+                .toUriString();
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"")
+                .body(users);
+    }
+
+    @GetMapping("/{id}")
+    public UserResponse detail(@PathVariable Long id) {
+        return toResponse(userQueryService.getUser(id));
     }
 
     @PostMapping
@@ -35,10 +114,42 @@ public class UserController {
                 .id(user.getId())
                 .name(user.getName())
                 .email(user.getEmail())
-                .password(user.getPassword())
                 .build();
     }
 
+    /**
+     * CSV(첫 줄은 헤더) 또는 NDJSON 으로 받은 user 들을 한 줄씩 읽어 저장합니다.
+     * 실패한 행과 chunk 마다의 진행 상황을 NDJSON 으로 바로 응답하고, 마지막 줄에 결과를 씁니다.
+     */
+    @PostMapping(
+            value = "/import",
+            consumes = {MediaTypes.TEXT_CSV_VALUE, MediaTypes.APPLICATION_NDJSON_VALUE},
+            produces = MediaTypes.APPLICATION_NDJSON_VALUE
+    )
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaTypes.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+
+        try (MappingIterator<UserCreateRequest> records = importReader(request.getContentType())
+                .readValues(request.getInputStream());
+             SequenceWriter writer = objectMapper.writer()
+                     .withRootValueSeparator("\n")
+                     .writeValues(response.getOutputStream())) {
+            UserImportProgress result = userImportService.importUsers(records, new UserImportListener() {
+                @Override
+                public void onFailure(UserImportFailure failure) {
+                    write(writer, failure);
+                }
+
+                @Override
+                public void onProgress(UserImportProgress progress) {
+                    write(writer, progress);
+                }
+            });
+            write(writer, result);
+        }
+    }
+
     @PatchMapping("/{id}")
     public UserResponse updateUser(@PathVariable Long id, @RequestBody @Valid UserUpdateRequest userUpdateRequest) {
         User user = userCommandService.updateUser(id, userUpdateRequest);
@@ -47,13 +158,55 @@ public class UserController {
                 .id(user.getId())
                 .name(user.getName())
                 .email(user.getEmail())
-                .password(user.getPassword())
                 .build();
     }
 
+    @DeleteMapping
+    public UserDeleteReport deleteUsers(
+            @RequestParam(required = false) Set<Long> ids,
+            @RequestBody(required = false) Set<Long> bodyIds
+    ) {
+        Set<Long> deleteIds = new HashSet<>();
+        if (ids != null) {
+            deleteIds.addAll(ids);
+        }
+        if (bodyIds != null) {
+            deleteIds.addAll(bodyIds);
+        }
+
+        return userCommandService.deleteUsers(deleteIds);
+    }
+
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteUser(@PathVariable Long id) {
         userCommandService.deleteUser(id);
     }
+
+    private UserResponse toResponse(UserSummary user) {
+        return UserResponse.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .build();
+    }
+
+    private ObjectReader importReader(String contentType) {
+        MediaType textCsv = MediaType.parseMediaType(MediaTypes.TEXT_CSV_VALUE);
+        if (MediaType.parseMediaType(contentType).isCompatibleWith(textCsv)) {
+            return csvMapper.readerFor(UserCreateRequest.class)
+                    .with(CsvSchema.emptySchema().withHeader());
+        }
+
+        return objectMapper.readerFor(UserCreateRequest.class);
+    }
+
+    private void write(SequenceWriter writer, Object value) {
+        try {
+            writer.write(value);
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
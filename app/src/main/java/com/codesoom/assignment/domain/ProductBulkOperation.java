@@ -0,0 +1,7 @@
+package com.codesoom.assignment.domain;
+
+public enum ProductBulkOperation {
+    SET_PRICE,
+    SCALE_PRICE,
+    SET_MAKER
+}
@@ -0,0 +1,33 @@
+package com.codesoom.assignment.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.validation.constraints.Size;
+import java.util.Set;
+
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFilter {
+    @Size(max = 10000)
+    private Set<Long> ids;
+
+    private String maker;
+
+    private Integer minPrice;
+
+    private Integer maxPrice;
+
+    public boolean isEmpty() {
+        return (ids == null || ids.isEmpty())
+                && maker == null
+                && minPrice == null
+                && maxPrice == null;
+    }
+}
@@ -1,14 +1,41 @@
 package com.codesoom.assignment.domain;
 
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ProductRepository {
     List<Product> findAll();
 
+    List<Map<String, Object>> findFieldsByIdGreaterThan(Long id, int limit, List<String> fields);
+
+    List<Product> findAllByPriceBetween(Integer minPrice, Integer maxPrice, Pageable pageable);
+
+    Stream<Product> streamAllByOrderByIdAsc();
+
+    List<Product> findAllByIdInOrderByIdAsc(Collection<Long> ids);
+
     Optional<Product> findById(Long id);
 
+    Optional<Map<String, Object>> findFieldsById(Long id, List<String> fields);
+
+    List<Long> findIdsBy(ProductFilter filter);
+
+    Integer findMaxPriceBy(ProductFilter filter);
+
+    int updateAll(ProductFilter filter,
+                  ProductBulkOperation operation,
+                  Integer price,
+                  Integer percent,
+                  String maker);
+
     Product save(Product product);
 
     void delete(Product product);
+
+    int deleteAllInBatch();
 }
@@ -1,17 +1,41 @@
 package com.codesoom.assignment.domain;
 
+import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
 
 @Entity
+@Table(indexes = @Index(name = User.EMAIL_INDEX, columnList = "email", unique = true))
 @Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class User {
+    public static final String EMAIL_INDEX = "uk_user_email";
+    public static final String ID_SEQUENCE = "user_id_seq";
+    public static final int ID_BLOCK_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_id")
+    @GenericGenerator(
+            name = "user_id",
+            strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator",
+            parameters = {
+                    @Parameter(name = "sequence_name", value = ID_SEQUENCE),
+                    @Parameter(name = "increment_size", value = "" + ID_BLOCK_SIZE),
+                    @Parameter(name = "optimizer", value = "hilo")
+            }
+    )
     private Long id;
 
     private String name;
@@ -20,8 +44,7 @@ public class User {
 
     private String password;
 
-    public void update(String email, String name, String password) {
-        this.email = email;
+    public void update(String name, String password) {
         this.name = name;
         this.password = password;
     }
@@ -1,17 +1,79 @@
 package com.codesoom.assignment.domain;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserRepository extends CrudRepository<User, Long> {
+    String EMAIL_FETCH_SIZE = "500";
+
     User save(User user);
 
     Optional<User> findById(Long id);
 
+    boolean existsByEmail(String email);
+
+    long count();
+
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = EMAIL_FETCH_SIZE),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("select u.email from User u")
+    Stream<String> streamAllEmails();
+
+    @Query("select u.id as id, u.name as name, u.email as email from User u" +
+            " where u.id > :after" +
+            " and (:namePrefix is null or u.name like :namePrefix escape '\\')" +
+            " and (:emailPrefix is null or u.email like :emailPrefix escape '\\')" +
+            " order by u.id")
+    List<UserSummary> findSummaries(
+            @Param("after") Long after,
+            @Param("namePrefix") String namePrefix,
+            @Param("emailPrefix") String emailPrefix,
+            Pageable pageable
+    );
+
+    @Transactional(readOnly = true)
+    @Query("select u.id as id, u.name as name, u.email as email from User u where u.id = :id")
+    Optional<UserSummary> findSummaryById(@Param("id") Long id);
+
     Iterable<User> findAllById(Iterable<Long> ids);
 
+    @Query("select u.id from User u where u.id in :ids")
+    List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update User u set u.name = :name, u.password = :password where u.id = :id")
+    int updateNameAndPasswordById(
+            @Param("id") Long id,
+            @Param("name") String name,
+            @Param("password") String password
+    );
+
     void deleteById(Long id);
 
+    @Modifying
+    @Query("delete from User u where u.id = :id")
+    int deleteOneById(@Param("id") Long id);
+
+    @Modifying
+    @Query("delete from User u where u.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
     void deleteAll();
+
+    @Modifying
+    @Query("delete from User u")
+    int deleteAllInBatch();
 }
@@ -0,0 +1,12 @@
+package com.codesoom.assignment.domain;
+
+/**
+ * 조회에 필요한 user 컬럼만 담습니다. password 는 읽지 않습니다.
+ */
+public interface UserSummary {
+    Long getId();
+
+    String getName();
+
+    String getEmail();
+}
@@ -0,0 +1,25 @@
+package com.codesoom.assignment.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class ProductBulkResult {
+    private final int index;
+
+    private final int status;
+
+    private final Long id;
+
+    private final List<String> errors;
+
+    @Builder
+    public ProductBulkResult(int index, int status, Long id, List<String> errors) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.errors = errors;
+    }
+}
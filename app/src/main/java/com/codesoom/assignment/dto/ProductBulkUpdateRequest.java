@@ -0,0 +1,61 @@
+package com.codesoom.assignment.dto;
+
+import com.codesoom.assignment.domain.ProductBulkOperation;
+import com.codesoom.assignment.domain.ProductFilter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.validation.Valid;
+import javax.validation.constraints.AssertTrue;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBulkUpdateRequest {
+    @Valid
+    @NotNull
+    private ProductFilter filter;
+
+    @NotNull
+    private ProductBulkOperation operation;
+
+    private Integer price;
+
+    @Min(-100)
+    @Max(1000)
+    private Integer percent;
+
+    private String maker;
+
+    @JsonIgnore
+    @AssertTrue(message = "filter must not be empty")
+    public boolean isFiltered() {
+        return filter == null || !filter.isEmpty();
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "operation needs its value")
+    public boolean isOperationValuePresent() {
+        if (operation == null) {
+            return true;
+        }
+
+        switch (operation) {
+            case SET_PRICE:
+                return price != null;
+            case SCALE_PRICE:
+                return percent != null;
+            default:
+                return maker != null && !maker.isBlank();
+        }
+    }
+}
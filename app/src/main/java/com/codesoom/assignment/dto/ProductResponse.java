@@ -2,10 +2,16 @@ package com.codesoom.assignment.dto;
 
 import com.codesoom.assignment.domain.Product;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.Getter;
 
+import java.util.List;
+
 @Getter
+@JsonSerialize(using = ProductResponseSerializer.class)
 public class ProductResponse {
+    public static final List<String> FIELDS =
+            List.of("id", "name", "maker", "price", "imageUrl");
 
     @JsonIgnore
     private final Product product;
@@ -0,0 +1,61 @@
+package com.codesoom.assignment.dto;
+
+import com.codesoom.assignment.domain.Product;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * 상품을 getter 리플렉션 없이 Product 에서 바로 JSON 으로 씁니다.
+ * 필드 이름은 미리 인코딩해 두고, 출력은 기본 BeanSerializer 와 같습니다.
+ */
+public class ProductResponseSerializer extends StdSerializer<ProductResponse> {
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString MAKER = new SerializedString("maker");
+    private static final SerializedString PRICE = new SerializedString("price");
+    private static final SerializedString IMAGE_URL = new SerializedString("imageUrl");
+
+    public ProductResponseSerializer() {
+        super(ProductResponse.class);
+    }
+
+    @Override
+    public void serialize(ProductResponse response,
+                          JsonGenerator generator,
+                          SerializerProvider provider) throws IOException {
+        Product product = response.getProduct();
+
+        generator.writeStartObject(response);
+        generator.writeFieldName(ID);
+        writeNumber(generator, product.getId());
+        generator.writeFieldName(NAME);
+        generator.writeString(product.getName());
+        generator.writeFieldName(MAKER);
+        generator.writeString(product.getMaker());
+        generator.writeFieldName(PRICE);
+        writeNumber(generator, product.getPrice());
+        generator.writeFieldName(IMAGE_URL);
+        generator.writeString(product.getImageUrl());
+        generator.writeEndObject();
+    }
+
+    private void writeNumber(JsonGenerator generator, Long value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeNumber(value);
+    }
+
+    private void writeNumber(JsonGenerator generator, Integer value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeNumber(value);
+    }
+}
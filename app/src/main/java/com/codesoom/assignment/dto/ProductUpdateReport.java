@@ -0,0 +1,12 @@
+package com.codesoom.assignment.dto;
+
+import lombok.Getter;
+
+@Getter
+public class ProductUpdateReport {
+    private final int updatedCount;
+
+    public ProductUpdateReport(int updatedCount) {
+        this.updatedCount = updatedCount;
+    }
+}
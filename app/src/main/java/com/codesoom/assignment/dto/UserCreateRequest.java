@@ -1,6 +1,5 @@
 package com.codesoom.assignment.dto;
 
-import com.github.dozermapper.core.Mapping;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -10,15 +9,12 @@ import javax.validation.constraints.NotBlank;
 public class UserCreateRequest {
 
     @NotBlank
-    @Mapping("email")
     private String email;
 
     @NotBlank
-    @Mapping("name")
     private String name;
 
     @NotBlank
-    @Mapping("password")
     private String password;
 
     @Builder
@@ -0,0 +1,22 @@
+package com.codesoom.assignment.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class UserImportFailure {
+    private final long row;
+
+    private final int status;
+
+    private final List<String> errors;
+
+    @Builder
+    public UserImportFailure(long row, int status, List<String> errors) {
+        this.row = row;
+        this.status = status;
+        this.errors = errors;
+    }
+}
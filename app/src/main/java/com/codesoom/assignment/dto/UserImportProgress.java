@@ -0,0 +1,23 @@
+package com.codesoom.assignment.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+public class UserImportProgress {
+    private final long processed;
+
+    private final long imported;
+
+    private final long failed;
+
+    private final boolean done;
+
+    @Builder
+    public UserImportProgress(long processed, long imported, long failed, boolean done) {
+        this.processed = processed;
+        this.imported = imported;
+        this.failed = failed;
+        this.done = done;
+    }
+}
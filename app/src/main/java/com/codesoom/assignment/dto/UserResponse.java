@@ -1,9 +1,11 @@
 package com.codesoom.assignment.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.Builder;
 import lombok.Getter;
 
 @Getter
+@JsonSerialize(using = UserResponseSerializer.class)
 public class UserResponse {
     private final Long id;
 
@@ -11,13 +13,10 @@ public class UserResponse {
 
     private final String email;
 
-    private final String password;
-
     @Builder
-    public UserResponse(Long id, String name, String email, String password) {
+    public UserResponse(Long id, String name, String email) {
         this.id = id;
         this.name = name;
         this.email = email;
-        this.password = password;
     }
 }
@@ -0,0 +1,39 @@
+package com.codesoom.assignment.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * user 를 getter 리플렉션 없이 JSON 으로 씁니다. 출력은 기본 BeanSerializer 와 같습니다.
+ */
+public class UserResponseSerializer extends StdSerializer<UserResponse> {
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString EMAIL = new SerializedString("email");
+
+    public UserResponseSerializer() {
+        super(UserResponse.class);
+    }
+
+    @Override
+    public void serialize(UserResponse response,
+                          JsonGenerator generator,
+                          SerializerProvider provider) throws IOException {
+        generator.writeStartObject(response);
+        generator.writeFieldName(ID);
+        if (response.getId() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(response.getId());
+        }
+        generator.writeFieldName(NAME);
+        generator.writeString(response.getName());
+        generator.writeFieldName(EMAIL);
+        generator.writeString(response.getEmail());
+        generator.writeEndObject();
+    }
+}
@@ -1,6 +1,5 @@
 package com.codesoom.assignment.dto;
 
-import com.github.dozermapper.core.Mapping;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -9,11 +8,9 @@ import javax.validation.constraints.NotBlank;
 @Getter
 public class UserUpdateRequest {
     @NotBlank
-    @Mapping("name")
     private String name;
 
     @NotBlank
-    @Mapping("password")
     private String password;
 
     @Builder
@@ -0,0 +1,38 @@
+package com.codesoom.assignment.infra;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * 컨트롤러 메서드의 실행 시간입니다. 응답 본문 직렬화는 포함하지 않으므로
+ * 같은 요청의 HttpRequestEvent 와 비교하면 직렬화에 쓴 시간을 알 수 있습니다.
+ */
+@Name("com.codesoom.assignment.Controller")
+@Label("Controller Handling")
+@Category({"Codesoom", "Web"})
+@Threshold("10 ms")
+@StackTrace(false)
+public class ControllerEvent extends Event {
+    @Label("Controller")
+    String controller;
+
+    @Label("Method")
+    String method;
+
+    @Label("Exception")
+    String exception;
+
+    public void finish(String controller, String method, Throwable exception) {
+        end();
+        if (shouldCommit()) {
+            this.controller = controller;
+            this.method = method;
+            this.exception = exception == null ? null : exception.getClass().getName();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.codesoom.assignment.infra;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * DispatcherServlet 이 요청을 컨트롤러에 넘긴 뒤 응답 본문을 다 쓸 때까지의 시간입니다.
+ */
+@Name("com.codesoom.assignment.HttpRequest")
+@Label("HTTP Request")
+@Category({"Codesoom", "Web"})
+@Threshold("10 ms")
+@StackTrace(false)
+public class HttpRequestEvent extends Event {
+    @Label("HTTP Method")
+    String httpMethod;
+
+    @Label("URI Pattern")
+    String uri;
+
+    @Label("Status")
+    int status;
+
+    public void finish(String httpMethod, String uri, int status) {
+        end();
+        if (shouldCommit()) {
+            this.httpMethod = httpMethod;
+            this.uri = uri;
+            this.status = status;
+            commit();
+        }
+    }
+}
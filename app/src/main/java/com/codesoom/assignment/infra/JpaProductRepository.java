@@ -3,19 +3,56 @@ package com.codesoom.assignment.infra;
 import com.codesoom.assignment.domain.Product;
 import com.codesoom.assignment.domain.ProductRepository;
 import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Primary
 public interface JpaProductRepository
-        extends ProductRepository, CrudRepository<Product, Long> {
+        extends ProductRepository, ProductBulkRepository, ProductProjectionRepository,
+        CrudRepository<Product, Long> {
+    String EXPORT_FETCH_SIZE = "500";
+    String LIST_CACHE_REGION = "query.products";
+
+    /**
+     * ProductService.getProducts 가 결과 전체를 캐시하므로 쿼리 캐시에는 담지 않습니다.
+     */
     List<Product> findAll();
 
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = LIST_CACHE_REGION)
+    })
+    List<Product> findAllByPriceBetween(Integer minPrice, Integer maxPrice, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheMode", value = "IGNORE")
+    })
+    Stream<Product> streamAllByOrderByIdAsc();
+
+    /**
+     * 복제본에서 읽은 상품이 2차 캐시에 들어가지 않도록 캐시는 읽기만 합니다.
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheMode", value = "GET"))
+    List<Product> findAllByIdInOrderByIdAsc(Collection<Long> ids);
+
     Optional<Product> findById(Long id);
 
     Product save(Product product);
 
     void delete(Product product);
+
+    @Modifying
+    @Query("delete from Product p")
+    int deleteAllInBatch();
 }
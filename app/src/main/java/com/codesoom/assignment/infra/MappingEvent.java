@@ -0,0 +1,39 @@
+package com.codesoom.assignment.infra;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * 엔티티 목록을 응답 DTO 목록으로 바꾸는 데 걸린 시간입니다.
+ */
+@Name("com.codesoom.assignment.Mapping")
+@Label("Response Mapping")
+@Category({"Codesoom", "Web"})
+@Threshold("1 ms")
+@StackTrace(false)
+public class MappingEvent extends Event {
+    @Label("Target")
+    String target;
+
+    @Label("Count")
+    int count;
+
+    public static MappingEvent start() {
+        MappingEvent event = new MappingEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(Class<?> target, int count) {
+        end();
+        if (shouldCommit()) {
+            this.target = target.getSimpleName();
+            this.count = count;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.codesoom.assignment.infra;
+
+import com.codesoom.assignment.domain.ProductBulkOperation;
+import com.codesoom.assignment.domain.ProductFilter;
+
+import java.util.List;
+
+public interface ProductBulkRepository {
+    List<Long> findIdsBy(ProductFilter filter);
+
+    Integer findMaxPriceBy(ProductFilter filter);
+
+    int updateAll(ProductFilter filter,
+                  ProductBulkOperation operation,
+                  Integer price,
+                  Integer percent,
+                  String maker);
+}
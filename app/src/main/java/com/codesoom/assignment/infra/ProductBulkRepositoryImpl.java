@@ -0,0 +1,110 @@
+package com.codesoom.assignment.infra;
+
+import com.codesoom.assignment.domain.Product;
+import com.codesoom.assignment.domain.ProductBulkOperation;
+import com.codesoom.assignment.domain.ProductFilter;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 조건에 맞는 상품들을 엔티티로 읽지 않고 하나의 UPDATE 문으로 변경합니다.
+ */
+public class ProductBulkRepositoryImpl implements ProductBulkRepository {
+    private final EntityManager entityManager;
+
+    public ProductBulkRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Long> findIdsBy(ProductFilter filter) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<Product> root = query.from(Product.class);
+
+        query.select(root.get("id"))
+                .where(predicates(builder, root, filter));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public Integer findMaxPriceBy(ProductFilter filter) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Integer> query = builder.createQuery(Integer.class);
+        Root<Product> root = query.from(Product.class);
+
+        query.select(builder.max(root.get("price")))
+                .where(predicates(builder, root, filter));
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    @Override
+    public int updateAll(ProductFilter filter,
+                         ProductBulkOperation operation,
+                         Integer price,
+                         Integer percent,
+                         String maker) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Product> update = builder.createCriteriaUpdate(Product.class);
+        Root<Product> root = update.from(Product.class);
+
+        Path<Integer> pricePath = root.get("price");
+        Path<Long> versionPath = root.get("version");
+
+        switch (operation) {
+            case SET_PRICE:
+                update.set(pricePath, price);
+                break;
+            case SCALE_PRICE:
+                update.set(pricePath, builder.quot(
+                        builder.prod(pricePath.as(Long.class), 100L + percent),
+                        100L
+                ).as(Integer.class));
+                break;
+            case SET_MAKER:
+                update.set(root.<String>get("maker"), maker);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown operation: " + operation);
+        }
+
+        update.set(versionPath, builder.sum(versionPath, 1L))
+                .where(predicates(builder, root, filter));
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    private Predicate[] predicates(CriteriaBuilder builder,
+                                   Root<Product> root,
+                                   ProductFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+
+        if (filter.getIds() != null && !filter.getIds().isEmpty()) {
+            predicates.add(root.get("id").in(filter.getIds()));
+        }
+
+        if (filter.getMaker() != null) {
+            predicates.add(builder.equal(root.get("maker"), filter.getMaker()));
+        }
+
+        if (filter.getMinPrice() != null) {
+            predicates.add(builder.ge(root.get("price"), filter.getMinPrice()));
+        }
+
+        if (filter.getMaxPrice() != null) {
+            predicates.add(builder.le(root.get("price"), filter.getMaxPrice()));
+        }
+
+        return predicates.toArray(new Predicate[0]);
+    }
+}
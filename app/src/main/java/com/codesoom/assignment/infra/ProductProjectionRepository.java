@@ -0,0 +1,11 @@
+package com.codesoom.assignment.infra;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface ProductProjectionRepository {
+    List<Map<String, Object>> findFieldsByIdGreaterThan(Long id, int limit, List<String> fields);
+
+    Optional<Map<String, Object>> findFieldsById(Long id, List<String> fields);
+}
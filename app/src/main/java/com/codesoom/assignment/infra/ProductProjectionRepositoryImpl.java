@@ -0,0 +1,74 @@
+package com.codesoom.assignment.infra;
+
+import com.codesoom.assignment.domain.Product;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * 요청한 컬럼만 읽어서 엔티티를 만들지 않고 필드 이름과 값의 Map 으로 리턴합니다.
+ */
+public class ProductProjectionRepositoryImpl implements ProductProjectionRepository {
+    private final EntityManager entityManager;
+
+    public ProductProjectionRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsByIdGreaterThan(Long id, int limit, List<String> fields) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Product> root = query.from(Product.class);
+
+        query.multiselect(selections(root, fields))
+                .where(builder.gt(root.get("id"), id))
+                .orderBy(builder.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .setHint("org.hibernate.cacheable", true)
+                .setHint("org.hibernate.cacheRegion", JpaProductRepository.LIST_CACHE_REGION)
+                .getResultList().stream()
+                .map(tuple -> toMap(tuple, fields))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsById(Long id, List<String> fields) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Product> root = query.from(Product.class);
+
+        Predicate idEquals = builder.equal(root.get("id"), id);
+        query.multiselect(selections(root, fields))
+                .where(idEquals);
+
+        return entityManager.createQuery(query)
+                .getResultStream()
+                .findFirst()
+                .map(tuple -> toMap(tuple, fields));
+    }
+
+    private List<Selection<?>> selections(Root<Product> root, List<String> fields) {
+        return fields.stream()
+                .map(field -> root.get(field).alias(field))
+                .collect(Collectors.toList());
+    }
+
+    private Map<String, Object> toMap(Tuple tuple, List<String> fields) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        fields.forEach(field -> values.put(field, tuple.get(field)));
+        return values;
+    }
+}
@@ -0,0 +1,178 @@
+package com.codesoom.assignment.infra;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * 읽기 전용 트랜잭션은 복제본에, 나머지는 primary 에 연결합니다.
+ *
+ * 트랜잭션의 읽기 전용 여부는 트랜잭션이 시작된 뒤에 정해지므로
+ * LazyConnectionDataSourceProxy 로 감싸서 첫 SQL 을 실행할 때 연결을 고르게 해야 합니다.
+ *
+ * 복제 지연 때문에 방금 쓴 값을 읽지 못하는 일을 줄이기 위해 다음 경우에는 읽기도 primary 로 보냅니다.
+ * - 현재 클라이언트가 쓰기 트랜잭션을 커밋한 뒤 maxLag 가 지나지 않았을 때.
+ *   클라이언트는 bindClient 로 묶고, 묶지 않았으면 현재 스레드를 클라이언트로 봅니다.
+ * - onPrimary 안에서 실행할 때
+ * - 모든 복제본에 연결할 수 없을 때. 연결에 실패한 복제본은 retryAfter 동안 건너뜁니다.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = ThreadLocal.withInitial(() -> false);
+    private static final ThreadLocal<Client> CLIENT = ThreadLocal.withInitial(Client::new);
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long maxLagMillis;
+    private final long retryAfterNanos;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary,
+                                    List<DataSource> replicas,
+                                    Duration maxLag,
+                                    Duration retryAfter) {
+        this.primary = primary;
+        replicas.forEach(replica -> this.replicas.add(new Replica(replica)));
+        this.maxLagMillis = maxLag.toMillis();
+        this.retryAfterNanos = retryAfter.toNanos();
+    }
+
+    /**
+     * 현재 스레드가 처리하는 클라이언트를 정합니다. lastWriteMillis 는 클라이언트가 마지막으로 쓰기를 커밋한
+     * 시각(epoch millis)이고, 이 스레드에서 쓰기 트랜잭션이 커밋되면 그 시각을 onWrite 로 알려 줍니다.
+     * 요청을 마치면 unbindClient 로 풀어야 합니다.
+     */
+    public static void bindClient(long lastWriteMillis, LongConsumer onWrite) {
+        CLIENT.set(new Client(lastWriteMillis, onWrite));
+    }
+
+    public static void unbindClient() {
+        CLIENT.remove();
+    }
+
+    /**
+     * 현재 스레드에서 reader 를 실행하는 동안 읽기 전용 트랜잭션도 primary 에 연결합니다.
+     * 복제본에서 찾지 못한 값을 다시 읽거나 캐시에 담을 값을 읽을 때 씁니다.
+     * 이미 연결을 얻은 트랜잭션 안에서는 효과가 없습니다.
+     */
+    public static <T> T onPrimary(Supplier<T> reader) {
+        if (PRIMARY_ONLY.get()) {
+            return reader.get();
+        }
+
+        PRIMARY_ONLY.set(true);
+        try {
+            return reader.get();
+        } finally {
+            PRIMARY_ONLY.remove();
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return writeConnection();
+        }
+
+        if (!replicas.isEmpty() && !PRIMARY_ONLY.get()
+                && System.currentTimeMillis() - CLIENT.get().lastWriteMillis >= maxLagMillis) {
+            Connection connection = replicaConnection();
+            if (connection != null) {
+                return connection;
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Credentials are configured per data source");
+    }
+
+    /**
+     * primary 와 복제본 중 닫을 수 있는 커넥션 풀을 모두 닫습니다.
+     */
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable) {
+                ((AutoCloseable) replica.dataSource).close();
+            }
+        }
+        if (primary instanceof AutoCloseable) {
+            ((AutoCloseable) primary).close();
+        }
+    }
+
+    private Connection writeConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+            Client client = CLIENT.get();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    client.written(System.currentTimeMillis());
+                }
+            });
+        }
+        return primary.getConnection();
+    }
+
+    private Connection replicaConnection() {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        long now = System.nanoTime();
+
+        for (int offset = 0; offset < replicas.size(); offset += 1) {
+            Replica replica = replicas.get((start + offset) % replicas.size());
+            if (now - replica.retryAtNanos < 0) {
+                continue;
+            }
+
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                replica.retryAtNanos = System.nanoTime() + retryAfterNanos;
+            }
+        }
+        return null;
+    }
+
+    private static class Client {
+        private final LongConsumer onWrite;
+        private long lastWriteMillis;
+
+        private Client() {
+            this(0L, millis -> {
+            });
+        }
+
+        private Client(long lastWriteMillis, LongConsumer onWrite) {
+            this.lastWriteMillis = lastWriteMillis;
+            this.onWrite = onWrite;
+        }
+
+        private void written(long millis) {
+            lastWriteMillis = millis;
+            onWrite.accept(millis);
+        }
+    }
+
+    private static class Replica {
+        private final DataSource dataSource;
+        private volatile long retryAtNanos;
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+            this.retryAtNanos = System.nanoTime();
+        }
+    }
+}
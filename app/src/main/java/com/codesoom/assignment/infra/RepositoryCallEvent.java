@@ -0,0 +1,37 @@
+package com.codesoom.assignment.infra;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * 리포지토리 메서드 한 번의 실행 시간입니다. SQL 실행과 엔티티 로딩이 포함됩니다.
+ */
+@Name("com.codesoom.assignment.RepositoryCall")
+@Label("Repository Call")
+@Category({"Codesoom", "Persistence"})
+@Threshold("5 ms")
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+    @Label("Repository")
+    String repository;
+
+    @Label("Method")
+    String method;
+
+    @Label("Exception")
+    String exception;
+
+    public void finish(String repository, String method, Throwable exception) {
+        end();
+        if (shouldCommit()) {
+            this.repository = repository;
+            this.method = method;
+            this.exception = exception == null ? null : exception.getClass().getName();
+            commit();
+        }
+    }
+}
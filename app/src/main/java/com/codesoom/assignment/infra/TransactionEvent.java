@@ -0,0 +1,42 @@
+package com.codesoom.assignment.infra;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * 트랜잭션 경계가 있는 서비스 메서드의 시작부터 커밋이나 롤백까지입니다.
+ * 이미 진행 중인 트랜잭션에 참여한 호출은 joined 가 true 입니다.
+ */
+@Name("com.codesoom.assignment.Transaction")
+@Label("Transaction")
+@Category({"Codesoom", "Persistence"})
+@Threshold("10 ms")
+@StackTrace(false)
+public class TransactionEvent extends Event {
+    @Label("Service")
+    String service;
+
+    @Label("Method")
+    String method;
+
+    @Label("Joined")
+    boolean joined;
+
+    @Label("Exception")
+    String exception;
+
+    public void finish(String service, String method, boolean joined, Throwable exception) {
+        end();
+        if (shouldCommit()) {
+            this.service = service;
+            this.method = method;
+            this.joined = joined;
+            this.exception = exception == null ? null : exception.getClass().getName();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.codesoom.assignment.infra;
+
+import com.codesoom.assignment.domain.User;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * user_id_seq 를 이미 저장된 user id 뒤로 옮깁니다.
+ * IDENTITY 로 id 를 만들던 때의 user 는 시퀀스를 거치지 않았으므로 그대로 두면 hilo 가 같은 id 를 다시 씁니다.
+ * hilo 는 시퀀스 값 v 를 받아 (v - 1) * ID_BLOCK_SIZE + 1 부터 v * ID_BLOCK_SIZE 까지의 id 를 씁니다.
+ */
+@Component
+public class UserIdSequenceInitializer {
+    private final JdbcTemplate jdbcTemplate;
+    private final Dialect dialect;
+
+    public UserIdSequenceInitializer(JdbcTemplate jdbcTemplate,
+                                     EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect();
+    }
+
+    @PostConstruct
+    public void initialize() {
+        Long maxId = jdbcTemplate.queryForObject("select max(id) from user", Long.class);
+        if (maxId == null) {
+            return;
+        }
+
+        long required = maxId / User.ID_BLOCK_SIZE + 2;
+        Long next = jdbcTemplate.queryForObject(
+                dialect.getSequenceNextValString(User.ID_SEQUENCE), Long.class);
+        if (next != null && next >= required) {
+            return;
+        }
+
+        jdbcTemplate.execute("alter sequence " + User.ID_SEQUENCE + " restart with " + required);
+    }
+}
@@ -0,0 +1,137 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.PasswordHashingOverloadException;
+import com.google.common.util.concurrent.Uninterruptibles;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHasherTest {
+    private static final Duration WAIT_TIMEOUT = Duration.ofSeconds(5);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHasher passwordHasher;
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    void hash() {
+        passwordHasher = new PasswordHasher(new BCryptPasswordEncoder(4), 1, 1, WAIT_TIMEOUT, meterRegistry);
+
+        String hashedPassword = passwordHasher.hash("secret");
+
+        assertThat(hashedPassword).isNotEqualTo("secret");
+        assertThat(passwordHasher.matches("secret", hashedPassword)).isTrue();
+        assertThat(meterRegistry.get("password.hashing").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void hashWithFullQueue() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        passwordHasher = new PasswordHasher(blockingEncoder(release), 1, 1, WAIT_TIMEOUT, meterRegistry);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordHasher.hash("a"));
+        awaitGauge("password.hashing.active", 1);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordHasher.hash("b"));
+        awaitGauge("password.hashing.queue.depth", 1);
+
+        assertThatThrownBy(() -> passwordHasher.hash("c"))
+                .isExactlyInstanceOf(PasswordHashingOverloadException.class);
+        assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hashed-a");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hashed-b");
+    }
+
+    @Test
+    void matchesWithFullQueue() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        passwordHasher = new PasswordHasher(blockingEncoder(release), 1, 1, WAIT_TIMEOUT, meterRegistry);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordHasher.hash("a"));
+        awaitGauge("password.hashing.active", 1);
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(
+                () -> passwordHasher.matches("b", "hashed-b"));
+        awaitGauge("password.hashing.queue.depth", 1);
+
+        assertThatThrownBy(() -> passwordHasher.matches("c", "hashed-c"))
+                .isExactlyInstanceOf(PasswordHashingOverloadException.class);
+        assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hashed-a");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void hashWithTimeout() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        passwordHasher = new PasswordHasher(blockingEncoder(release), 1, 1, Duration.ofMillis(100), meterRegistry);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordHasher.hash("a"));
+        awaitGauge("password.hashing.active", 1);
+
+        assertThatThrownBy(() -> passwordHasher.hash("b"))
+                .isExactlyInstanceOf(PasswordHashingOverloadException.class)
+                .hasMessage("Password hashing timed out");
+        assertThat(meterRegistry.get("password.hashing.queue.depth").gauge().value()).isZero();
+
+        assertThatThrownBy(() -> running.get(5, TimeUnit.SECONDS))
+                .hasCauseExactlyInstanceOf(PasswordHashingOverloadException.class);
+        assertThat(meterRegistry.get("password.hashing.timeout").counter().count()).isEqualTo(2);
+
+        release.countDown();
+    }
+
+    @Test
+    void hashAllWithTimeout() {
+        CountDownLatch release = new CountDownLatch(1);
+        passwordHasher = new PasswordHasher(blockingEncoder(release), 1, 1, Duration.ofMillis(100), meterRegistry);
+
+        assertThatThrownBy(() -> passwordHasher.hashAll(List.of("a", "b")))
+                .isExactlyInstanceOf(PasswordHashingOverloadException.class);
+        assertThat(meterRegistry.get("password.hashing.timeout").counter().count()).isEqualTo(1);
+
+        release.countDown();
+    }
+
+    private PasswordEncoder blockingEncoder(CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                // bcrypt 처럼 취소해도 멈추지 않습니다.
+                Uninterruptibles.awaitUninterruptibly(release);
+                return "hashed-" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals("hashed-" + rawPassword);
+            }
+        };
+    }
+
+    private void awaitGauge(String name, double value) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get(name).gauge().value() != value && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(meterRegistry.get(name).gauge().value()).isEqualTo(value);
+    }
+}
@@ -0,0 +1,88 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.domain.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSearchIndexTest {
+    private ProductSearchIndex productSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        productSearchIndex = new ProductSearchIndex();
+
+        productSearchIndex.add(Product.builder()
+                .id(1L)
+                .name("쥐돌이")
+                .maker("냥이월드")
+                .build());
+
+        productSearchIndex.add(Product.builder()
+                .id(2L)
+                .name("Fish Toy")
+                .maker("냥이월드")
+                .build());
+    }
+
+    @Test
+    void searchWithName() {
+        assertThat(productSearchIndex.search("쥐돌이", 10)).containsExactly(1L);
+    }
+
+    @Test
+    void searchWithMaker() {
+        assertThat(productSearchIndex.search("냥이월드", 10)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void searchWithPrefix() {
+        assertThat(productSearchIndex.search("쥐", 10)).containsExactly(1L);
+        assertThat(productSearchIndex.search("fi", 10)).containsExactly(2L);
+    }
+
+    @Test
+    void searchIgnoresCaseAndPunctuation() {
+        assertThat(productSearchIndex.search("  FISH, toy! ", 10)).containsExactly(2L);
+    }
+
+    @Test
+    void searchWithEveryTerm() {
+        assertThat(productSearchIndex.search("냥이 fish", 10)).containsExactly(2L);
+        assertThat(productSearchIndex.search("쥐돌이 fish", 10)).isEmpty();
+    }
+
+    @Test
+    void searchWithLimit() {
+        assertThat(productSearchIndex.search("냥이월드", 1)).containsExactly(1L);
+    }
+
+    @Test
+    void searchWithBlankQuery() {
+        assertThat(productSearchIndex.search(" ", 10)).isEmpty();
+        assertThat(productSearchIndex.search(null, 10)).isEmpty();
+    }
+
+    @Test
+    void addReplacesTokens() {
+        productSearchIndex.add(Product.builder()
+                .id(1L)
+                .name("쥐순이")
+                .maker("코드숨")
+                .build());
+
+        assertThat(productSearchIndex.search("쥐돌이", 10)).isEmpty();
+        assertThat(productSearchIndex.search("쥐순이", 10)).containsExactly(1L);
+        assertThat(productSearchIndex.search("냥이월드", 10)).containsExactly(2L);
+    }
+
+    @Test
+    void remove() {
+        productSearchIndex.remove(1L);
+        productSearchIndex.remove(1000L);
+
+        assertThat(productSearchIndex.search("쥐돌이", 10)).isEmpty();
+        assertThat(productSearchIndex.search("냥이월드", 10)).containsExactly(2L);
+    }
+}
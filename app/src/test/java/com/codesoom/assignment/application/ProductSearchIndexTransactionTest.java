@@ -0,0 +1,85 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.domain.Product;
+import com.codesoom.assignment.dto.ProductData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ProductSearchIndexTransactionTest {
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ProductData productData = ProductData.builder()
+            .name("쥐돌이")
+            .maker("냥이월드")
+            .price(5000)
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        productService.deleteAll();
+    }
+
+    private void inRolledBackTransaction(Runnable runnable) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            runnable.run();
+            status.setRollbackOnly();
+        });
+    }
+
+    @Test
+    void createProductIsIndexedAfterCommit() {
+        Product product = productService.createProduct(productData);
+
+        assertThat(productSearchIndex.search("쥐돌이", 10)).containsExactly(product.getId());
+    }
+
+    @Test
+    void rolledBackCreateIsNotIndexed() {
+        inRolledBackTransaction(() -> productService.createProduct(productData));
+
+        assertThat(productSearchIndex.search("쥐돌이", 10)).isEmpty();
+    }
+
+    @Test
+    void rolledBackUpdateKeepsIndex() {
+        Product product = productService.createProduct(productData);
+
+        inRolledBackTransaction(() -> productService.updateProduct(product.getId(),
+                ProductData.builder().name("쥐순이").maker("냥이월드").price(5000).build()));
+
+        assertThat(productSearchIndex.search("쥐돌이", 10)).containsExactly(product.getId());
+        assertThat(productSearchIndex.search("쥐순이", 10)).isEmpty();
+    }
+
+    @Test
+    void rolledBackDeleteKeepsIndex() {
+        Product product = productService.createProduct(productData);
+
+        inRolledBackTransaction(() -> productService.deleteProduct(product.getId()));
+
+        assertThat(productSearchIndex.search("쥐돌이", 10)).containsExactly(product.getId());
+    }
+
+    @Test
+    void rolledBackDeleteAllKeepsIndex() {
+        Product product = productService.createProduct(productData);
+
+        inRolledBackTransaction(() -> productService.deleteAll());
+
+        assertThat(productSearchIndex.search("쥐돌이", 10)).containsExactly(product.getId());
+    }
+}
@@ -0,0 +1,112 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.domain.Product;
+import com.codesoom.assignment.infra.JpaProductRepository;
+import com.codesoom.assignment.dto.ProductData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest
+class ProductServiceCacheTest {
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockBean
+    private JpaProductRepository productRepository;
+
+    private final ProductData productData = ProductData.builder()
+            .name("쥐순이")
+            .maker("냥이월드")
+            .price(5000)
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames()
+                .forEach(name -> cacheManager.getCache(name).clear());
+
+        Product product = Product.builder()
+                .id(1L)
+                .name("쥐돌이")
+                .maker("냥이월드")
+                .price(5000)
+                .build();
+
+        given(productRepository.findAll()).willReturn(List.of(product));
+
+        given(productRepository.findById(1L)).willReturn(Optional.of(product));
+
+        given(productRepository.save(any(Product.class))).will(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void getProductIsCached() {
+        productService.getProduct(1L);
+        productService.getProduct(1L);
+
+        verify(productRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void getProductsIsCached() {
+        productService.getProducts();
+        productService.getProducts();
+
+        verify(productRepository, times(1)).findAll();
+    }
+
+    @Test
+    void createProductEvictsProducts() {
+        productService.getProducts();
+        productService.createProduct(productData);
+        productService.getProducts();
+
+        verify(productRepository, times(2)).findAll();
+    }
+
+    @Test
+    void updateProductEvictsProductAndProducts() {
+        productService.getProduct(1L);
+        productService.getProducts();
+
+        productService.updateProduct(1L, productData);
+
+        Product product = productService.getProduct(1L);
+        productService.getProducts();
+
+        assertThat(product.getName()).isEqualTo("쥐순이");
+
+        verify(productRepository, times(3)).findById(1L);
+        verify(productRepository, times(2)).findAll();
+    }
+
+    @Test
+    void deleteProductEvictsProductAndProducts() {
+        productService.getProduct(1L);
+        productService.getProducts();
+
+        productService.deleteProduct(1L);
+
+        productService.getProduct(1L);
+        productService.getProducts();
+
+        verify(productRepository, times(3)).findById(1L);
+        verify(productRepository, times(2)).findAll();
+    }
+}
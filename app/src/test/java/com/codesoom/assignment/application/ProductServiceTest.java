@@ -1,20 +1,36 @@
 package com.codesoom.assignment.application;
 
 import com.codesoom.assignment.ProductNotFoundException;
+import com.codesoom.assignment.ProductPriceOutOfRangeException;
 import com.codesoom.assignment.domain.Product;
+import com.codesoom.assignment.domain.ProductBulkOperation;
+import com.codesoom.assignment.domain.ProductFilter;
 import com.codesoom.assignment.domain.ProductRepository;
+import com.codesoom.assignment.dto.ProductBulkUpdateRequest;
 import com.codesoom.assignment.dto.ProductData;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 class ProductServiceTest {
@@ -22,9 +38,19 @@ class ProductServiceTest {
 
     private ProductRepository productRepository = mock(ProductRepository.class);
 
+    private EntityManager entityManager = mock(EntityManager.class);
+
+    private Session session = mock(Session.class);
+
+    private ProductSearchIndex productSearchIndex = new ProductSearchIndex();
+
     @BeforeEach
     void setUp() {
-        productService = new ProductService(productRepository);
+        TransactionTemplate transactionTemplate =
+                new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+        productService = new ProductService(
+                productRepository, entityManager, productSearchIndex, transactionTemplate);
 
         Product product = Product.builder()
                 .id(1L)
@@ -33,10 +59,16 @@ class ProductServiceTest {
                 .price(5000)
                 .build();
 
+        given(entityManager.unwrap(Session.class)).willReturn(session);
+
         given(productRepository.findAll()).willReturn(List.of(product));
 
         given(productRepository.findById(1L)).willReturn(Optional.of(product));
 
+        given(productRepository.streamAllByOrderByIdAsc()).will(invocation -> Stream.of(product));
+
+        given(productRepository.findAllByIdInOrderByIdAsc(List.of(1L))).willReturn(List.of(product));
+
         given(productRepository.save(any(Product.class))).will(invocation -> {
             Product source = invocation.getArgument(0);
             return Product.builder()
@@ -66,6 +98,82 @@ class ProductServiceTest {
         assertThat(product.getName()).isEqualTo("쥐돌이");
     }
 
+    @Test
+    void getProductsFields() {
+        List<String> fields = List.of("id", "name");
+        given(productRepository.findFieldsByIdGreaterThan(0L, 10, fields))
+                .willReturn(List.of(Map.of("id", 1L, "name", "쥐돌이")));
+
+        List<Map<String, Object>> products = productService.getProductsFields(0L, 10, fields);
+
+        assertThat(products).hasSize(1);
+        assertThat(products.get(0)).containsEntry("name", "쥐돌이");
+    }
+
+    @Test
+    void getProductFieldsWithExistedId() {
+        List<String> fields = List.of("name");
+        given(productRepository.findFieldsById(1L, fields))
+                .willReturn(Optional.of(Map.of("name", "쥐돌이")));
+
+        assertThat(productService.getProductFields(1L, fields))
+                .containsExactly(Map.entry("name", "쥐돌이"));
+    }
+
+    @Test
+    void getProductFieldsMissingOnReplica() {
+        List<String> fields = List.of("name");
+        given(productRepository.findFieldsById(2L, fields))
+                .willReturn(Optional.empty(), Optional.of(Map.of("name", "쥐순이")));
+
+        assertThat(productService.getProductFields(2L, fields))
+                .containsExactly(Map.entry("name", "쥐순이"));
+        verify(productRepository, times(2)).findFieldsById(2L, fields);
+    }
+
+    @Test
+    void getProductFieldsWithNotExistedId() {
+        assertThatThrownBy(() -> productService.getProductFields(1000L, List.of("name")))
+                .isInstanceOf(ProductNotFoundException.class);
+    }
+
+    @Test
+    void getProductsByPrice() {
+        Product product = productService.getProduct(1L);
+        PageRequest pageRequest = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "price", "id"));
+        given(productRepository.findAllByPriceBetween(1000, 5000, pageRequest))
+                .willReturn(List.of(product));
+
+        List<Product> products = productService.getProductsByPrice(
+                1000, 5000, Sort.Direction.DESC, 10);
+
+        assertThat(products).hasSize(1);
+    }
+
+    @Test
+    void getProductsByPriceWithoutRange() {
+        productService.getProductsByPrice(null, null, Sort.Direction.ASC, 10);
+
+        verify(productRepository).findAllByPriceBetween(
+                Integer.MIN_VALUE,
+                Integer.MAX_VALUE,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "price", "id"))
+        );
+    }
+
+    @Test
+    void exportProducts() {
+        Product product = productService.getProduct(1L);
+
+        List<Product> exported = new ArrayList<>();
+        productService.exportProducts(exported::add);
+
+        assertThat(exported).containsExactly(product);
+
+        verify(entityManager).detach(product);
+        verify(session).setCacheMode(CacheMode.IGNORE);
+    }
+
     @Test
     void getProductWithExsitedId() {
         Product product = productService.getProduct(1L);
@@ -80,6 +188,23 @@ class ProductServiceTest {
                 .isInstanceOf(ProductNotFoundException.class);
     }
 
+    @Test
+    void searchProducts() {
+        productService.indexProducts();
+
+        List<Product> products = productService.searchProducts("쥐돌", 10);
+
+        assertThat(products).hasSize(1);
+        assertThat(products.get(0).getName()).isEqualTo("쥐돌이");
+    }
+
+    @Test
+    void searchProductsWithNoMatch() {
+        productService.indexProducts();
+
+        assertThat(productService.searchProducts("고양이", 10)).isEmpty();
+    }
+
     @Test
     void createProduct() {
         ProductData productData = ProductData.builder()
@@ -95,6 +220,28 @@ class ProductServiceTest {
         assertThat(product.getId()).isEqualTo(2L);
         assertThat(product.getName()).isEqualTo("쥐돌이");
         assertThat(product.getMaker()).isEqualTo("냥이월드");
+
+        assertThat(productSearchIndex.search("쥐돌이", 10)).containsExactly(2L);
+    }
+
+    @Test
+    void createProducts() {
+        List<ProductData> productDataList = new ArrayList<>();
+        for (int i = 0; i < ProductService.BULK_CHUNK_SIZE + 1; i += 1) {
+            productDataList.add(ProductData.builder()
+                    .name("쥐돌이")
+                    .maker("냥이월드")
+                    .price(5000)
+                    .build());
+        }
+
+        List<Product> products = productService.createProducts(productDataList);
+
+        assertThat(products).hasSize(ProductService.BULK_CHUNK_SIZE + 1);
+
+        verify(productRepository, times(ProductService.BULK_CHUNK_SIZE + 1)).save(any(Product.class));
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
     }
 
     @Test
@@ -109,6 +256,8 @@ class ProductServiceTest {
 
         assertThat(product.getId()).isEqualTo(1L);
         assertThat(product.getName()).isEqualTo("쥐순이");
+
+        assertThat(productSearchIndex.search("쥐순이", 10)).containsExactly(1L);
     }
 
     @Test
@@ -123,11 +272,71 @@ class ProductServiceTest {
                 .isInstanceOf(ProductNotFoundException.class);
     }
 
+    @Test
+    void updateProductsWithPrice() {
+        ProductFilter filter = ProductFilter.builder().maker("냥이월드").build();
+        given(productRepository.updateAll(filter, ProductBulkOperation.SCALE_PRICE, null, 10, null))
+                .willReturn(3);
+
+        int updatedCount = productService.updateProducts(ProductBulkUpdateRequest.builder()
+                .filter(filter)
+                .operation(ProductBulkOperation.SCALE_PRICE)
+                .percent(10)
+                .build());
+
+        assertThat(updatedCount).isEqualTo(3);
+
+        verify(productRepository, never()).findIdsBy(any());
+        verify(entityManager).clear();
+    }
+
+    @Test
+    void updateProductsWithOutOfRangePrice() {
+        ProductFilter filter = ProductFilter.builder().maker("냥이월드").build();
+        given(productRepository.findMaxPriceBy(filter)).willReturn(Integer.MAX_VALUE / 2);
+
+        assertThatThrownBy(() -> productService.updateProducts(ProductBulkUpdateRequest.builder()
+                .filter(filter)
+                .operation(ProductBulkOperation.SCALE_PRICE)
+                .percent(101)
+                .build()))
+                .isInstanceOf(ProductPriceOutOfRangeException.class);
+
+        verify(productRepository, never()).updateAll(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void updateProductsWithMaker() {
+        productService.indexProducts();
+
+        ProductFilter filter = ProductFilter.builder().maker("냥이월드").build();
+        given(productRepository.findIdsBy(filter)).willReturn(List.of(1L));
+        given(productRepository.updateAll(filter, ProductBulkOperation.SET_MAKER, null, null, "코드숨"))
+                .will(invocation -> {
+                    productService.getProduct(1L).change("쥐돌이", "코드숨", 5000, null);
+                    return 1;
+                });
+
+        int updatedCount = productService.updateProducts(ProductBulkUpdateRequest.builder()
+                .filter(filter)
+                .operation(ProductBulkOperation.SET_MAKER)
+                .maker("코드숨")
+                .build());
+
+        assertThat(updatedCount).isEqualTo(1);
+        assertThat(productSearchIndex.search("코드숨", 10)).containsExactly(1L);
+        assertThat(productSearchIndex.search("냥이월드", 10)).isEmpty();
+    }
+
     @Test
     void deleteProductWithExistedId() {
+        productService.indexProducts();
+
         productService.deleteProduct(1L);
 
         verify(productRepository).delete(any(Product.class));
+
+        assertThat(productSearchIndex.search("쥐돌이", 10)).isEmpty();
     }
 
     @Test
@@ -135,4 +344,15 @@ class ProductServiceTest {
         assertThatThrownBy(() -> productService.deleteProduct(1000L))
                 .isInstanceOf(ProductNotFoundException.class);
     }
+
+    @Test
+    void deleteAll() {
+        given(productRepository.deleteAllInBatch()).willReturn(1);
+        productService.indexProducts();
+
+        assertThat(productService.deleteAll()).isEqualTo(1);
+
+        verify(productRepository, never()).delete(any(Product.class));
+        assertThat(productSearchIndex.search("쥐돌이", 10)).isEmpty();
+    }
 }
@@ -1,11 +1,14 @@
 package com.codesoom.assignment.application;
 
+import com.codesoom.assignment.UserEmailDuplicationException;
 import com.codesoom.assignment.UserNotFoundException;
 import com.codesoom.assignment.domain.User;
 import com.codesoom.assignment.domain.UserRepository;
 import com.codesoom.assignment.dto.UserCreateRequest;
 import com.codesoom.assignment.dto.UserDeleteReport;
 import com.codesoom.assignment.dto.UserUpdateRequest;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,6 +17,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import javax.persistence.EntityManagerFactory;
+import java.util.HashSet;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -26,6 +31,36 @@ class UserCommandServiceTest {
     @Autowired
     UserCommandService userCommandService;
 
+    @Autowired
+    PasswordHasher passwordHasher;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void clearUsers() {
+        userCommandService.deleteAll();
+    }
+
+    @AfterEach
+    void disableStatistics() {
+        statistics().setStatisticsEnabled(false);
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private Statistics startStatistics() {
+        Statistics statistics = statistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        return statistics;
+    }
+
     @Nested
     @DisplayName("createUser 메서드는")
     class Describe_createUser {
@@ -54,9 +89,124 @@ class UserCommandServiceTest {
                 User savedUser = userCommandService.createUser(requestUser);
 
                 assertThat(savedUser).usingRecursiveComparison()
-                        .ignoringFields("id")
+                        .ignoringFields("id", "password")
                         .isEqualTo(requestUser);
             }
+
+            @Test
+            @DisplayName("password 는 해싱해서 저장한다")
+            void it_hashes_password() {
+                User savedUser = userCommandService.createUser(requestUser);
+
+                assertThat(savedUser.getPassword()).isNotEqualTo(requestUser.getPassword());
+                assertThat(passwordHasher.matches(requestUser.getPassword(), savedUser.getPassword())).isTrue();
+            }
+
+            @Test
+            @DisplayName("사용 중이 아닌 email 이면 email 을 조회하지 않고 INSERT 한다")
+            void it_inserts_without_email_query() {
+                Statistics statistics = startStatistics();
+
+                userCommandService.createUser(requestUser);
+
+                assertThat(statistics.getQueryExecutionCount()).isZero();
+                assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+            }
+        }
+
+        @Nested
+        @DisplayName("이미 사용 중인 email 이 주어진다면")
+        class Context_with_duplicated_email {
+            private UserCreateRequest requestUser;
+
+            @BeforeEach
+            void setUp() {
+                requestUser = UserCreateRequest.builder()
+                        .email("a@a.com")
+                        .name("김 코")
+                        .password("123")
+                        .build();
+
+                userCommandService.createUser(requestUser);
+            }
+
+            @AfterEach
+            void after() {
+                userCommandService.deleteAll();
+            }
+
+            @Test
+            @DisplayName("email 이 중복됐다는 예외를 던진다")
+            void it_throws_exception() {
+                assertThatThrownBy(
+                        () -> userCommandService.createUser(requestUser)
+                ).isExactlyInstanceOf(UserEmailDuplicationException.class);
+            }
+        }
+
+        @Nested
+        @DisplayName("email filter 에 없지만 이미 저장된 email 이 주어진다면")
+        class Context_with_email_missing_in_filter {
+            private UserCreateRequest requestUser;
+
+            @BeforeEach
+            void setUp() {
+                requestUser = UserCreateRequest.builder()
+                        .email("a@a.com")
+                        .name("김 코")
+                        .password("123")
+                        .build();
+
+                userRepository.save(User.builder()
+                        .email("a@a.com")
+                        .name("김 코")
+                        .password("123")
+                        .build());
+            }
+
+            @AfterEach
+            void after() {
+                userCommandService.deleteAll();
+            }
+
+            @Test
+            @DisplayName("unique index 로 중복을 막고 email 이 중복됐다는 예외를 던진다")
+            void it_throws_exception() {
+                assertThatThrownBy(
+                        () -> userCommandService.createUser(requestUser)
+                ).isExactlyInstanceOf(UserEmailDuplicationException.class);
+            }
+        }
+
+        @Nested
+        @DisplayName("삭제된 user 의 email 이 주어진다면")
+        class Context_with_deleted_user_email {
+            private UserCreateRequest requestUser;
+
+            @BeforeEach
+            void setUp() {
+                requestUser = UserCreateRequest.builder()
+                        .email("a@a.com")
+                        .name("김 코")
+                        .password("123")
+                        .build();
+
+                User savedUser = userCommandService.createUser(requestUser);
+                userCommandService.deleteUser(savedUser.getId());
+            }
+
+            @AfterEach
+            void after() {
+                userCommandService.deleteAll();
+            }
+
+            @Test
+            @DisplayName("User 를 저장하고 리턴한다")
+            void it_returns_user() {
+                User savedUser = userCommandService.createUser(requestUser);
+
+                assertThat(savedUser.getEmail()).isEqualTo("a@a.com");
+            }
         }
     }
 
@@ -96,8 +246,27 @@ class UserCommandServiceTest {
                 User updatedUser = userCommandService.updateUser(savedUser.getId(), requestUser);
 
                 assertThat(updatedUser).usingRecursiveComparison()
-                        .ignoringFields("id", "email")
+                        .ignoringFields("id", "email", "password")
                         .isEqualTo(requestUser);
+                assertThat(passwordHasher.matches(requestUser.getPassword(), updatedUser.getPassword())).isTrue();
+            }
+
+            @Test
+            @DisplayName("User 의 email 은 바꾸지 않는다")
+            void it_keeps_email() {
+                User updatedUser = userCommandService.updateUser(savedUser.getId(), requestUser);
+
+                assertThat(updatedUser.getEmail()).isEqualTo("before@before.com");
+            }
+
+            @Test
+            @DisplayName("UPDATE 와 응답용 SELECT 두 문장만 실행한다")
+            void it_runs_update_and_select_only() {
+                Statistics statistics = startStatistics();
+
+                userCommandService.updateUser(savedUser.getId(), requestUser);
+
+                assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
             }
         }
 
@@ -121,6 +290,17 @@ class UserCommandServiceTest {
                         () -> userCommandService.updateUser(INVALID_USER_ID, requestUser)
                 ).isExactlyInstanceOf(UserNotFoundException.class);
             }
+
+            @Test
+            @DisplayName("UPDATE 한 문장만 실행한다")
+            void it_runs_update_only() {
+                Statistics statistics = startStatistics();
+
+                assertThatThrownBy(
+                        () -> userCommandService.updateUser(INVALID_USER_ID, requestUser)
+                ).isExactlyInstanceOf(UserNotFoundException.class);
+                assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+            }
         }
     }
 
@@ -155,6 +335,16 @@ class UserCommandServiceTest {
 
                 assertThat(userRepository.findById(deletedUserId)).isEmpty();
             }
+
+            @Test
+            @DisplayName("DELETE 한 문장만 실행한다")
+            void it_runs_delete_only() {
+                Statistics statistics = startStatistics();
+
+                userCommandService.deleteUser(deleteId);
+
+                assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+            }
         }
 
         @Nested
@@ -167,6 +357,17 @@ class UserCommandServiceTest {
                         () -> userCommandService.deleteUser(INVALID_USER_ID)
                 ).isExactlyInstanceOf(UserNotFoundException.class);
             }
+
+            @Test
+            @DisplayName("DELETE 한 문장만 실행한다")
+            void it_runs_delete_only() {
+                Statistics statistics = startStatistics();
+
+                assertThatThrownBy(
+                        () -> userCommandService.deleteUser(INVALID_USER_ID)
+                ).isExactlyInstanceOf(UserNotFoundException.class);
+                assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+            }
         }
     }
 
@@ -254,5 +455,89 @@ class UserCommandServiceTest {
                         .containsExactly(INVALID_USER_ID);
             }
         }
+
+        @Nested
+        @DisplayName("한 번에 삭제하는 개수보다 많은 id가 주어지면 ")
+        class Context_with_more_ids_than_chunk_size {
+            private Set<Long> savedIds;
+            private Set<Long> deleteIds;
+
+            @BeforeEach
+            void setUp() {
+                savedIds = new HashSet<>();
+                for (int i = 0; i < 3; i++) {
+                    User savedUser = userCommandService.createUser(
+                            UserCreateRequest.builder()
+                                    .email(i + "@a.com")
+                                    .name("김 코")
+                                    .password("a")
+                                    .build()
+                    );
+                    savedIds.add(savedUser.getId());
+                }
+
+                deleteIds = new HashSet<>(savedIds);
+                for (long id = -1; deleteIds.size() < UserCommandService.DELETE_CHUNK_SIZE * 2 + 1; id--) {
+                    deleteIds.add(id);
+                }
+            }
+
+            @Test
+            @DisplayName("나누어 삭제하고 전체 삭제 보고서를 리턴한다")
+            void it_returns_delete_user_report() {
+                UserDeleteReport userDeleteReport = userCommandService.deleteUsers(deleteIds);
+
+                assertThat(userRepository.findAllById(savedIds)).isEmpty();
+                assertThat(userDeleteReport.getDeletedSuccessIds()).isEqualTo(savedIds);
+                assertThat(userDeleteReport.getDeletedFailIds())
+                        .hasSize(deleteIds.size() - savedIds.size())
+                        .doesNotContainAnyElementsOf(savedIds);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("deleteAll 메서드는")
+    class Describe_deleteAll {
+        @BeforeEach
+        void setUp() {
+            for (int i = 0; i < 3; i++) {
+                userCommandService.createUser(
+                        UserCreateRequest.builder()
+                                .email(i + "@a.com")
+                                .name("김 코")
+                                .password("a")
+                                .build()
+                );
+            }
+        }
+
+        @Test
+        @DisplayName("user 를 읽지 않고 DELETE 한 문장으로 모두 삭제한다")
+        void it_deletes_all_in_one_statement() {
+            Statistics statistics = startStatistics();
+
+            assertThat(userCommandService.deleteAll()).isEqualTo(3);
+
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+            assertThat(statistics.getEntityLoadCount()).isZero();
+            assertThat(userRepository.count()).isZero();
+        }
+
+        @Test
+        @DisplayName("삭제한 user 의 email 로 다시 가입할 수 있다")
+        void it_clears_email_filter() {
+            userCommandService.deleteAll();
+
+            User savedUser = userCommandService.createUser(
+                    UserCreateRequest.builder()
+                            .email("0@a.com")
+                            .name("김 코")
+                            .password("a")
+                            .build()
+            );
+
+            assertThat(savedUser.getId()).isNotNull();
+        }
     }
 }
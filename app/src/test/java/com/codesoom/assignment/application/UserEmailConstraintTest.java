@@ -0,0 +1,69 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.domain.User;
+import com.codesoom.assignment.domain.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+@SpringBootTest
+class UserEmailConstraintTest {
+    @Autowired
+    private UserCommandService userCommandService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        userCommandService.deleteAll();
+    }
+
+    private User user(String email) {
+        return User.builder()
+                .name("김 코")
+                .email(email)
+                .password("password")
+                .build();
+    }
+
+    @Test
+    void emailIndexViolation() {
+        userRepository.save(user("a@a.com"));
+
+        DataIntegrityViolationException e = catchThrowableOfType(
+                () -> userRepository.save(user("a@a.com")),
+                DataIntegrityViolationException.class);
+
+        assertThat(UserEmailConstraint.isViolatedBy(e)).isTrue();
+    }
+
+    @Test
+    void primaryKeyViolation() {
+        Long id = userRepository.save(user("a@a.com")).getId();
+
+        Throwable thrown = catchThrowable(() -> transactionTemplate.executeWithoutResult(status ->
+                entityManager.createNativeQuery(
+                        "insert into user (id, name, email, password) values (:id, 'x', 'b@b.com', 'x')")
+                        .setParameter("id", id)
+                        .executeUpdate()));
+        DataIntegrityViolationException e = new DataIntegrityViolationException(thrown.getMessage(), thrown);
+
+        assertThat(UserEmailConstraint.isViolatedBy(e)).isFalse();
+    }
+}
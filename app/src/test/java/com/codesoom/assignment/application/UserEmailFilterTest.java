@@ -0,0 +1,68 @@
+package com.codesoom.assignment.application;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserEmailFilterTest {
+    private UserEmailFilter userEmailFilter;
+
+    @BeforeEach
+    void setUp() {
+        userEmailFilter = new UserEmailFilter();
+        userEmailFilter.rebuild(2, Stream.of("a@a.com", "b@b.com"));
+    }
+
+    @Test
+    void mightContainRebuiltEmails() {
+        assertThat(userEmailFilter.mightContain("a@a.com")).isTrue();
+        assertThat(userEmailFilter.mightContain("b@b.com")).isTrue();
+    }
+
+    @Test
+    void mightContainPutEmail() {
+        userEmailFilter.put("c@c.com");
+
+        assertThat(userEmailFilter.mightContain("c@c.com")).isTrue();
+    }
+
+    @Test
+    void clear() {
+        userEmailFilter.clear();
+
+        assertThat(userEmailFilter.mightContain("a@a.com")).isFalse();
+    }
+
+    @Test
+    void isStaleWhenHalfOfEmailsRemoved() {
+        userEmailFilter.rebuild(UserEmailFilter.MIN_STALE_EMAILS * 2,
+                LongStream.range(0, UserEmailFilter.MIN_STALE_EMAILS * 2).mapToObj(i -> i + "@a.com"));
+
+        userEmailFilter.removed(UserEmailFilter.MIN_STALE_EMAILS);
+        assertThat(userEmailFilter.isStale()).isFalse();
+
+        userEmailFilter.removed(1);
+        assertThat(userEmailFilter.isStale()).isTrue();
+        assertThat(userEmailFilter.needsRebuild()).isTrue();
+    }
+
+    @Test
+    void isFullWhenEmailsOutgrowFilter() {
+        userEmailFilter.clear();
+
+        LongStream.range(0, UserEmailFilter.MIN_EXPECTED_EMAILS)
+                .forEach(i -> userEmailFilter.put(i + "@a.com"));
+        assertThat(userEmailFilter.isFull()).isFalse();
+
+        userEmailFilter.put("full@a.com");
+        assertThat(userEmailFilter.isFull()).isTrue();
+        assertThat(userEmailFilter.needsRebuild()).isTrue();
+
+        userEmailFilter.rebuild(UserEmailFilter.MIN_EXPECTED_EMAILS + 1, Stream.of("full@a.com"));
+        assertThat(userEmailFilter.isFull()).isFalse();
+    }
+}
@@ -0,0 +1,134 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.UserNotFoundException;
+import com.codesoom.assignment.domain.User;
+import com.codesoom.assignment.domain.UserSummary;
+import com.codesoom.assignment.dto.UserCreateRequest;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class UserQueryServiceTest {
+    private static final long INVALID_USER_ID = 0L;
+
+    @Autowired
+    UserQueryService userQueryService;
+
+    @Autowired
+    UserCommandService userCommandService;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    private final List<User> savedUsers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        userCommandService.deleteAll();
+
+        savedUsers.add(createUser("kim@a.com", "김 코"));
+        savedUsers.add(createUser("lee@a.com", "이 코"));
+        savedUsers.add(createUser("kim@b.com", "김 딩"));
+        savedUsers.add(createUser("100%@a.com", "박 코"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userCommandService.deleteAll();
+        statistics().setStatisticsEnabled(false);
+    }
+
+    private User createUser(String email, String name) {
+        return userCommandService.createUser(UserCreateRequest.builder()
+                .email(email)
+                .name(name)
+                .password("123")
+                .build());
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Nested
+    @DisplayName("getUsers 메서드는")
+    class Describe_getUsers {
+        @Test
+        @DisplayName("after 다음 id 부터 limit 개의 user 를 id 순서로 리턴한다")
+        void it_returns_page_after_cursor() {
+            List<UserSummary> users = userQueryService.getUsers(savedUsers.get(0).getId(), 2, null, null);
+
+            assertThat(users).extracting(UserSummary::getId)
+                    .containsExactly(savedUsers.get(1).getId(), savedUsers.get(2).getId());
+        }
+
+        @Test
+        @DisplayName("name 이나 email 로 시작하는 user 만 리턴한다")
+        void it_returns_users_with_prefix() {
+            assertThat(userQueryService.getUsers(0L, 10, "김", null))
+                    .extracting(UserSummary::getEmail)
+                    .containsExactly("kim@a.com", "kim@b.com");
+            assertThat(userQueryService.getUsers(0L, 10, "김", "kim@b"))
+                    .extracting(UserSummary::getEmail)
+                    .containsExactly("kim@b.com");
+        }
+
+        @Test
+        @DisplayName("prefix 의 % 와 _ 는 글자 그대로 비교한다")
+        void it_escapes_wildcards() {
+            assertThat(userQueryService.getUsers(0L, 10, null, "100%"))
+                    .extracting(UserSummary::getEmail)
+                    .containsExactly("100%@a.com");
+            assertThat(userQueryService.getUsers(0L, 10, null, "%")).isEmpty();
+            assertThat(userQueryService.getUsers(0L, 10, "_", null)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("User 엔티티를 읽지 않는다")
+        void it_does_not_load_entities() {
+            Statistics statistics = statistics();
+            statistics.setStatisticsEnabled(true);
+            statistics.clear();
+
+            userQueryService.getUsers(0L, 10, null, null);
+
+            assertThat(statistics.getEntityLoadCount()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("getUser 메서드는")
+    class Describe_getUser {
+        @Test
+        @DisplayName("저장되어 있는 user 의 id 가 주어지면 user 를 리턴한다")
+        void it_returns_user() {
+            User savedUser = savedUsers.get(0);
+
+            UserSummary user = userQueryService.getUser(savedUser.getId());
+
+            assertThat(user.getName()).isEqualTo(savedUser.getName());
+            assertThat(user.getEmail()).isEqualTo(savedUser.getEmail());
+        }
+
+        @Test
+        @DisplayName("저장되어 있지 않은 user 의 id 가 주어지면 사용자를 찾지 못했다는 예외를 던진다")
+        void it_throws_exception() {
+            assertThatThrownBy(() -> userQueryService.getUser(INVALID_USER_ID))
+                    .isExactlyInstanceOf(UserNotFoundException.class);
+        }
+    }
+}
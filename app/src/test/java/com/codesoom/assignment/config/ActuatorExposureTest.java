@@ -0,0 +1,43 @@
+package com.codesoom.assignment.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ActuatorExposureTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Nested
+    @DisplayName("기본 설정에서는")
+    class Describe_default {
+        @Test
+        @DisplayName("상태를 바꾸는 jfr, caches 엔드포인트를 열지 않는다")
+        void it_hides_mutating_endpoints() throws Exception {
+            mockMvc.perform(post("/actuator/jfr"))
+                    .andExpect(status().isNotFound());
+            mockMvc.perform(get("/actuator/jfr/dump"))
+                    .andExpect(status().isNotFound());
+            mockMvc.perform(delete("/actuator/caches"))
+                    .andExpect(status().isNotFound());
+        }
+
+        @Test
+        @DisplayName("지표 엔드포인트는 연다")
+        void it_exposes_metrics() throws Exception {
+            mockMvc.perform(get("/actuator/prometheus"))
+                    .andExpect(status().isOk());
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.codesoom.assignment.config;
+
+import com.codesoom.assignment.application.ProductService;
+import com.codesoom.assignment.dto.ProductData;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 복제본 풀이 primary 와 같은 DB 를 열게 해서 데이터 없이 풀 사용량으로 라우팅만 확인합니다.
+ */
+@SpringBootTest(properties = {
+        "replica-datasource.max-lag=0s",
+        "replica-datasource.urls=${spring.datasource.url}",
+        "spring.datasource.hikari.maximum-pool-size=7",
+        "replica-datasource.hikari.maximum-pool-size=3"
+})
+@ActiveProfiles("replica")
+@AutoConfigureMockMvc
+class DataSourceConfigTest {
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private MockMvc mockMvc;
+
+    /**
+     * 커넥션 사용 시간 지표는 처음 연결을 돌려줄 때 등록됩니다.
+     */
+    private long usage(String pool) {
+        Timer timer = meterRegistry.find("hikaricp.connections.usage")
+                .tag("pool", pool)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private double maxConnections(String pool) {
+        return meterRegistry.get("hikaricp.connections.max")
+                .tag("pool", pool)
+                .gauge()
+                .value();
+    }
+
+    @Nested
+    @DisplayName("복제본이 설정되어 있으면")
+    class Describe_with_replica {
+        @Test
+        @DisplayName("primary 와 복제본 풀에 각자의 hikari 설정을 쓴다")
+        void it_binds_hikari_properties() {
+            assertThat(maxConnections("primary")).isEqualTo(7);
+            assertThat(maxConnections("replica-1")).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("읽기 전용 서비스 메서드는 복제본 연결을 쓴다")
+        void it_reads_from_replica() {
+            long primary = usage("primary");
+            long replica = usage("replica-1");
+
+            productService.exportProducts(product -> {
+            });
+
+            assertThat(usage("replica-1")).isEqualTo(replica + 1);
+            assertThat(usage("primary")).isEqualTo(primary);
+        }
+
+        @Test
+        @DisplayName("결과를 캐시에 담는 읽기는 primary 연결을 쓴다")
+        void it_reads_cached_results_from_primary() {
+            long primary = usage("primary");
+            long replica = usage("replica-1");
+
+            productService.getProductsByPrice(null, null, Sort.Direction.ASC, 10);
+
+            assertThat(usage("primary")).isEqualTo(primary + 1);
+            assertThat(usage("replica-1")).isEqualTo(replica);
+        }
+
+        @Test
+        @DisplayName("쓰기 서비스 메서드는 primary 연결을 쓴다")
+        void it_writes_to_primary() {
+            long replica = usage("replica-1");
+
+            Long id = productService.createProduct(ProductData.builder()
+                    .name("쥐돌이")
+                    .maker("냥이월드")
+                    .price(5000)
+                    .build()).getId();
+            productService.deleteProduct(id);
+
+            assertThat(usage("replica-1")).isEqualTo(replica);
+        }
+
+        @Test
+        @DisplayName("쓰기를 커밋한 응답에 last-write 쿠키를 붙인다")
+        void it_sets_last_write_cookie() throws Exception {
+            mockMvc.perform(get("/products"))
+                    .andExpect(cookie().doesNotExist(ReadYourWritesConfig.LAST_WRITE_COOKIE));
+
+            mockMvc.perform(post("/products")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"name\":\"쥐돌이\",\"maker\":\"냥이월드\",\"price\":5000}"))
+                    .andExpect(status().isCreated())
+                    .andExpect(cookie().exists(ReadYourWritesConfig.LAST_WRITE_COOKIE));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.codesoom.assignment.config;
+
+import com.codesoom.assignment.infra.ControllerEvent;
+import com.codesoom.assignment.infra.HttpRequestEvent;
+import com.codesoom.assignment.infra.MappingEvent;
+import com.codesoom.assignment.infra.RepositoryCallEvent;
+import com.codesoom.assignment.infra.TransactionEvent;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=jfr")
+@AutoConfigureMockMvc
+class FlightRecordingEndpointTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @AfterEach
+    void stopRecording() throws Exception {
+        mockMvc.perform(delete("/actuator/jfr"));
+    }
+
+    @Nested
+    @DisplayName("기록 중에 요청을 처리하면")
+    class Describe_events {
+        @Test
+        @DisplayName("요청, 컨트롤러, 매핑, 트랜잭션, 리포지토리 이벤트를 남긴다")
+        void it_records_events() throws Exception {
+            Path file = Files.createTempFile("events", ".jfr");
+            try (Recording recording = new Recording()) {
+                List.of(HttpRequestEvent.class, ControllerEvent.class, MappingEvent.class,
+                        TransactionEvent.class, RepositoryCallEvent.class)
+                        .forEach(type -> recording.enable(type).withThreshold(Duration.ZERO));
+                recording.start();
+
+                mockMvc.perform(get("/products?all=true"))
+                        .andExpect(status().isOk());
+                mockMvc.perform(get("/users"))
+                        .andExpect(status().isOk());
+
+                recording.stop();
+                recording.dump(file);
+            }
+
+            Set<String> names = RecordingFile.readAllEvents(file).stream()
+                    .map(RecordedEvent::getEventType)
+                    .map(type -> type.getName())
+                    .collect(Collectors.toSet());
+            Files.delete(file);
+
+            assertThat(names).contains(
+                    "com.codesoom.assignment.HttpRequest",
+                    "com.codesoom.assignment.Controller",
+                    "com.codesoom.assignment.Mapping",
+                    "com.codesoom.assignment.Transaction",
+                    "com.codesoom.assignment.RepositoryCall");
+        }
+    }
+
+    @Nested
+    @DisplayName("jfr 엔드포인트는")
+    class Describe_endpoint {
+        @Test
+        @DisplayName("기록을 시작하고 내려받고 멈춘다")
+        void it_starts_dumps_and_stops_recording() throws Exception {
+            mockMvc.perform(post("/actuator/jfr")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"maxAge\":\"5m\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.state").value("RUNNING"))
+                    .andExpect(jsonPath("$.maxAge").value("PT5M"));
+
+            byte[] dump = mockMvc.perform(get("/actuator/jfr/dump"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsByteArray();
+            assertThat(new String(dump, 0, 4)).isEqualTo("FLR\0");
+
+            mockMvc.perform(delete("/actuator/jfr"))
+                    .andExpect(status().isNoContent());
+
+            mockMvc.perform(get("/actuator/jfr"))
+                    .andExpect(jsonPath("$.state").value("CLOSED"));
+        }
+
+        @Test
+        @DisplayName("없는 설정 이름이면 400 을 응답한다")
+        void it_rejects_unknown_settings() throws Exception {
+            mockMvc.perform(post("/actuator/jfr")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"settings\":\"unknown\"}"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+}
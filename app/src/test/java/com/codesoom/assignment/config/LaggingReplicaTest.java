@@ -0,0 +1,100 @@
+package com.codesoom.assignment.config;
+
+import com.codesoom.assignment.application.ProductService;
+import com.codesoom.assignment.domain.Product;
+import com.codesoom.assignment.dto.ProductData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * primary 와 다른 메모리 DB 를 복제본으로 열어 복제가 멈춘 복제본을 흉내 냅니다.
+ * 복제본에는 수정 전의 상품만 있으므로 캐시에 담기는 읽기가 어디서 읽었는지 알 수 있습니다.
+ */
+@SpringBootTest(properties = {
+        "replica-datasource.max-lag=0s",
+        "replica-datasource.urls=" + LaggingReplicaTest.REPLICA_URL
+})
+class LaggingReplicaTest {
+    static final String REPLICA_URL = "jdbc:h2:mem:lagging_replica;DB_CLOSE_DELAY=-1;"
+            + "INIT=RUNSCRIPT FROM 'classpath:lagging-replica.sql'";
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final JdbcTemplate replica =
+            new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    private Long id;
+
+    @BeforeEach
+    void setUp() {
+        productService.deleteAll();
+        replica.update("delete from product");
+
+        id = productService.createProduct(ProductData.builder()
+                .name("쥐돌이")
+                .maker("냥이월드")
+                .price(5000)
+                .build()).getId();
+        replica.update("insert into product (id, name, maker, price, version) values (?, ?, ?, ?, ?)",
+                id, "쥐돌이", "냥이월드", 5000, 0L);
+
+        productService.updateProduct(id, ProductData.builder()
+                .name("쥐순이")
+                .maker("냥이월드")
+                .price(5000)
+                .build());
+
+        // 2차 캐시의 상품이 만료된 뒤를 흉내 냅니다.
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void getProductReadsPrimary() {
+        assertThat(productService.getProduct(id).getName()).isEqualTo("쥐순이");
+    }
+
+    @Test
+    void getProductsReadsPrimary() {
+        assertThat(productService.getProducts())
+                .extracting(Product::getName)
+                .containsExactly("쥐순이");
+    }
+
+    @Test
+    void getProductsByPriceReadsPrimary() {
+        assertThat(productService.getProductsByPrice(null, null, Sort.Direction.ASC, 10))
+                .extracting(Product::getName)
+                .containsExactly("쥐순이");
+    }
+
+    @Test
+    void getProductsFieldsReadsPrimary() {
+        List<String> fields = List.of("id", "name");
+
+        assertThat(productService.getProductsFields(0L, 10, fields).get(0))
+                .containsEntry("name", "쥐순이");
+    }
+
+    @Test
+    void replicaReadsDoNotFillSecondLevelCache() {
+        assertThat(productService.searchProducts("쥐순이", 10))
+                .extracting(Product::getName)
+                .containsExactly("쥐돌이");
+
+        assertThat(productService.getProduct(id).getName()).isEqualTo("쥐순이");
+    }
+}
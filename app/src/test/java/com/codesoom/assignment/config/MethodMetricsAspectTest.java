@@ -0,0 +1,100 @@
+package com.codesoom.assignment.config;
+
+import com.codesoom.assignment.application.ProductService;
+import com.codesoom.assignment.application.UserCommandService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class MethodMetricsAspectTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private UserCommandService userCommandService;
+
+    @BeforeEach
+    void setUp() {
+        userCommandService.deleteAll();
+    }
+
+    @Nested
+    @DisplayName("서비스 메서드를 호출하면")
+    class Describe_service {
+        @Test
+        @DisplayName("캐시에서 응답해도 서비스 타이머에 기록한다")
+        void it_records_service_timer() {
+            productService.getProducts();
+            productService.getProducts();
+
+            assertThat(meterRegistry.get(MethodMetricsAspect.SERVICE_TIMER)
+                    .tag("class", "ProductService")
+                    .tag("method", "getProducts")
+                    .tag("exception", "none")
+                    .timer().count()).isGreaterThanOrEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("리포지토리 타이머에 리포지토리 인터페이스 이름으로 기록한다")
+        void it_records_repository_timer() {
+            userCommandService.deleteAll();
+
+            assertThat(meterRegistry.get(MethodMetricsAspect.REPOSITORY_TIMER)
+                    .tag("class", "UserRepository")
+                    .tag("method", "deleteAllInBatch")
+                    .tag("exception", "none")
+                    .timer().count()).isPositive();
+        }
+
+        @Test
+        @DisplayName("예외가 발생하면 예외 이름을 태그로 기록한다")
+        void it_records_exception_tag() {
+            try {
+                userCommandService.deleteUser(0L);
+            } catch (RuntimeException ignored) {
+            }
+
+            assertThat(meterRegistry.get(MethodMetricsAspect.SERVICE_TIMER)
+                    .tag("class", "UserCommandService")
+                    .tag("method", "deleteUser")
+                    .tag("exception", "UserNotFoundException")
+                    .timer().count()).isPositive();
+        }
+    }
+
+    @Nested
+    @DisplayName("prometheus 엔드포인트는")
+    class Describe_prometheus {
+        @Test
+        @DisplayName("요청, 메서드, 커넥션 풀, Hibernate 지표를 내보낸다")
+        void it_exports_metrics() throws Exception {
+            mockMvc.perform(get("/products"))
+                    .andExpect(status().isOk());
+
+            mockMvc.perform(get("/actuator/prometheus"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                    .andExpect(content().string(containsString("app_service_calls_seconds_bucket")))
+                    .andExpect(content().string(containsString("app_repository_calls_seconds_bucket")))
+                    .andExpect(content().string(containsString("hikaricp_connections_active")))
+                    .andExpect(content().string(containsString("hibernate_sessions_open_total")));
+        }
+    }
+}
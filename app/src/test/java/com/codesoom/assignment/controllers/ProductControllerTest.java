@@ -1,29 +1,53 @@
 package com.codesoom.assignment.controllers;
 
 import com.codesoom.assignment.ProductNotFoundException;
+import com.codesoom.assignment.ProductPriceOutOfRangeException;
 import com.codesoom.assignment.application.ProductService;
+import com.codesoom.assignment.config.ProductProtobufHttpMessageConverter;
 import com.codesoom.assignment.domain.Product;
+import com.codesoom.assignment.dto.ProductBulkUpdateRequest;
 import com.codesoom.assignment.dto.ProductData;
+import com.codesoom.assignment.dto.ProductResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnknownFieldSet;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ProductController.class)
@@ -41,10 +65,35 @@ class ProductControllerTest {
                 .name("쥐돌이")
                 .maker("냥이월드")
                 .price(5000)
+                .version(0L)
                 .build();
 
         given(productService.getProducts()).willReturn(List.of(product));
 
+        given(productService.getProductsByPrice(
+                any(), any(), any(Sort.Direction.class), anyInt()
+        )).willReturn(List.of(product));
+
+        given(productService.searchProducts("쥐돌", Pagination.DEFAULT_PAGE_SIZE))
+                .willReturn(List.of(product));
+
+        given(productService.getProductsFields(eq(0L), anyInt(), any())).will(invocation -> {
+            List<String> fields = invocation.getArgument(2);
+            return List.of(fields(product, fields));
+        });
+
+        given(productService.getProductFields(eq(1L), any())).will(invocation -> {
+            List<String> fields = invocation.getArgument(1);
+            return fields(product, fields);
+        });
+
+        willAnswer(invocation -> {
+            Consumer<Product> consumer = invocation.getArgument(0);
+            consumer.accept(product);
+            consumer.accept(product);
+            return null;
+        }).given(productService).exportProducts(any());
+
         given(productService.getProduct(1L)).willReturn(product);
 
         given(productService.getProduct(1000L))
@@ -53,6 +102,21 @@ class ProductControllerTest {
         given(productService.createProduct(any(ProductData.class)))
                 .willReturn(product);
 
+        given(productService.createProducts(any())).will(invocation -> {
+            List<ProductData> productDataList = invocation.getArgument(0);
+            List<Product> products = new ArrayList<>();
+            for (int i = 0; i < productDataList.size(); i += 1) {
+                products.add(Product.builder()
+                        .id(10L + i)
+                        .name(productDataList.get(i).getName())
+                        .build());
+            }
+            return products;
+        });
+
+        given(productService.updateProducts(any(ProductBulkUpdateRequest.class)))
+                .willReturn(2);
+
         given(productService.updateProduct(eq(1L), any(ProductData.class)))
                 .will(invocation -> {
                     Long id = invocation.getArgument(0);
@@ -79,9 +143,319 @@ class ProductControllerTest {
                                 .accept(MediaType.APPLICATION_JSON_UTF8)
                 )
                 .andExpect(status().isOk())
+                .andExpect(content().string(containsString("쥐돌이")))
+                .andExpect(header().doesNotExist("Link"));
+
+        verify(productService).getProductsFields(
+                0L, Pagination.DEFAULT_PAGE_SIZE, versioned(ProductResponse.FIELDS));
+    }
+
+    @Test
+    void listWithFields() throws Exception {
+        mockMvc.perform(
+                        get("/products")
+                                .param("fields", "name,price")
+                                .param("limit", "1")
+                                .accept(MediaType.APPLICATION_JSON_UTF8)
+                )
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"name\":\"쥐돌이\",\"price\":5000}]", true))
+                .andExpect(header().string("Link", containsString("after=1")));
+
+        verify(productService).getProductsFields(0L, 1, List.of("name", "price", "id", "version"));
+    }
+
+    @Test
+    void listWithUnknownFields() throws Exception {
+        mockMvc.perform(
+                        get("/products")
+                                .param("fields", "name,password")
+                )
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void listWithFullPage() throws Exception {
+        mockMvc.perform(
+                        get("/products")
+                                .param("limit", "1")
+                                .accept(MediaType.APPLICATION_JSON_UTF8)
+                )
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("쥐돌이")))
+                .andExpect(header().string("Link", containsString("after=1")))
+                .andExpect(header().string("Link", containsString("rel=\"next\"")));
+    }
+
+    @Test
+    void listWithTooLargeLimit() throws Exception {
+        mockMvc.perform(
+                        get("/products")
+                                .param("limit", "100000")
+                                .accept(MediaType.APPLICATION_JSON_UTF8)
+                )
+                .andExpect(status().isOk());
+
+        verify(productService).getProductsFields(
+                0L, Pagination.MAX_PAGE_SIZE, versioned(ProductResponse.FIELDS));
+    }
+
+    @Test
+    void listAll() throws Exception {
+        mockMvc.perform(
+                        get("/products")
+                                .param("all", "true")
+                                .accept(MediaType.APPLICATION_JSON_UTF8)
+                )
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("쥐돌이")))
+                .andExpect(header().doesNotExist("Link"));
+
+        verify(productService).getProducts();
+    }
+
+    @Test
+    void listWithAnyAccept() throws Exception {
+        mockMvc.perform(
+                        get("/products")
+                                .accept(MediaType.ALL)
+                )
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void listAllAsCbor() throws Exception {
+        byte[] body = mockMvc.perform(
+                        get("/products")
+                                .param("all", "true")
+                                .accept(MediaType.APPLICATION_CBOR)
+                )
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<Map<String, Object>> products = new ObjectMapper(new CBORFactory())
+                .readValue(body, new TypeReference<>() {
+                });
+
+        assertThat(products).hasSize(1);
+        assertThat(products.get(0))
+                .containsEntry("id", 1)
+                .containsEntry("name", "쥐돌이")
+                .containsEntry("price", 5000);
+    }
+
+    @Test
+    void listAllAsSmile() throws Exception {
+        MediaType smile = MediaType.parseMediaType("application/x-jackson-smile");
+
+        byte[] body = mockMvc.perform(
+                        get("/products")
+                                .param("all", "true")
+                                .accept(smile)
+                )
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(smile))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<Map<String, Object>> products = new ObjectMapper(new SmileFactory())
+                .readValue(body, new TypeReference<>() {
+                });
+
+        assertThat(products).hasSize(1);
+        assertThat(products.get(0))
+                .containsEntry("id", 1)
+                .containsEntry("name", "쥐돌이")
+                .containsEntry("price", 5000);
+    }
+
+    @Test
+    void listAllAsProtobuf() throws Exception {
+        byte[] body = mockMvc.perform(
+                        get("/products")
+                                .param("all", "true")
+                                .accept(ProductProtobufHttpMessageConverter.APPLICATION_PROTOBUF)
+                )
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ProductProtobufHttpMessageConverter.APPLICATION_PROTOBUF))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<UnknownFieldSet> products = protobufProducts(body);
+
+        assertThat(products).hasSize(1);
+        UnknownFieldSet product = products.get(0);
+        assertThat(product.getField(1).getVarintList()).containsExactly(1L);
+        assertThat(product.getField(2).getLengthDelimitedList().get(0).toStringUtf8()).isEqualTo("쥐돌이");
+        assertThat(product.getField(3).getLengthDelimitedList().get(0).toStringUtf8()).isEqualTo("냥이월드");
+        assertThat(product.getField(4).getVarintList()).containsExactly(5000L);
+        assertThat(product.hasField(5)).isFalse();
+    }
+
+    @Test
+    void listWithFieldsAsProtobuf() throws Exception {
+        byte[] body = mockMvc.perform(
+                        get("/products")
+                                .param("fields", "name,price")
+                                .accept(ProductProtobufHttpMessageConverter.APPLICATION_PROTOBUF)
+                )
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        UnknownFieldSet product = protobufProducts(body).get(0);
+
+        assertThat(product.asMap().keySet()).containsExactly(2, 4);
+    }
+
+    private List<UnknownFieldSet> protobufProducts(byte[] body) throws Exception {
+        List<UnknownFieldSet> products = new ArrayList<>();
+        for (ByteString product :
+                UnknownFieldSet.parseFrom(body).getField(1).getLengthDelimitedList()) {
+            products.add(UnknownFieldSet.parseFrom(product));
+        }
+        return products;
+    }
+
+    private String listETag(String... params) throws Exception {
+        MockHttpServletRequestBuilder request = get("/products");
+        for (int i = 0; i < params.length; i += 2) {
+            request.param(params[i], params[i + 1]);
+        }
+        return mockMvc.perform(request)
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+    }
+
+    @Test
+    void listWithETag() throws Exception {
+        mockMvc.perform(get("/products"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, matchesPattern("W/\"[0-9a-f]+\"")))
+                .andExpect(result -> assertThat(result.getResponse().getHeaders(HttpHeaders.VARY))
+                        .contains(HttpHeaders.ACCEPT));
+    }
+
+    @Test
+    void listWithCurrentETag() throws Exception {
+        mockMvc.perform(
+                        get("/products")
+                                .header("If-None-Match", listETag())
+                )
+                .andExpect(status().isNotModified())
+                .andExpect(result -> assertThat(result.getResponse().getHeaders(HttpHeaders.VARY))
+                        .contains(HttpHeaders.ACCEPT))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void listWithCurrentETagOfAllProducts() throws Exception {
+        mockMvc.perform(
+                        get("/products")
+                                .param("all", "true")
+                                .header("If-None-Match", listETag("all", "true"))
+                )
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void listETagChangesWithVersion() throws Exception {
+        String eTag = listETag();
+
+        Product product = Product.builder()
+                .id(1L)
+                .name("쥐순이")
+                .maker("냥이월드")
+                .price(5000)
+                .version(1L)
+                .build();
+        willAnswer(invocation -> {
+            List<String> fields = invocation.getArgument(2);
+            return List.of(fields(product, fields));
+        }).given(productService).getProductsFields(eq(0L), anyInt(), any());
+
+        assertThat(listETag()).isNotEqualTo(eTag);
+    }
+
+    @Test
+    void listWithStaleETag() throws Exception {
+        mockMvc.perform(
+                        get("/products")
+                                .header("If-None-Match", "W/\"0\"")
+                                .accept(MediaType.APPLICATION_JSON_UTF8)
+                )
+                .andExpect(status().isOk())
                 .andExpect(content().string(containsString("쥐돌이")));
     }
 
+    @Test
+    void listWithPriceRange() throws Exception {
+        mockMvc.perform(
+                        get("/products")
+                                .param("minPrice", "1000")
+                                .param("maxPrice", "5000")
+                                .accept(MediaType.APPLICATION_JSON_UTF8)
+                )
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("쥐돌이")))
+                .andExpect(header().doesNotExist("Link"));
+
+        verify(productService).getProductsByPrice(
+                1000, 5000, Sort.Direction.ASC, Pagination.DEFAULT_PAGE_SIZE);
+    }
+
+    @Test
+    void listWithPriceOrder() throws Exception {
+        mockMvc.perform(
+                        get("/products")
+                                .param("priceOrder", "desc")
+                                .param("limit", "10")
+                                .accept(MediaType.APPLICATION_JSON_UTF8)
+                )
+                .andExpect(status().isOk());
+
+        verify(productService).getProductsByPrice(
+                null, null, Sort.Direction.DESC, 10);
+    }
+
+    @Test
+    void listWithInvalidPriceOrder() throws Exception {
+        mockMvc.perform(
+                        get("/products")
+                                .param("priceOrder", "cheapest")
+                )
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void search() throws Exception {
+        mockMvc.perform(
+                        get("/products/search")
+                                .param("q", "쥐돌")
+                                .accept(MediaType.APPLICATION_JSON_UTF8)
+                )
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("쥐돌이")));
+    }
+
+    @Test
+    void searchWithoutQuery() throws Exception {
+        mockMvc.perform(get("/products/search"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void export() throws Exception {
+        mockMvc.perform(get("/products/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(
+                        MediaTypes.APPLICATION_NDJSON_VALUE))
+                .andExpect(content().string(
+                        matchesPattern("\\{[^\\n]*쥐돌이[^\\n]*}\\n\\{[^\\n]*쥐돌이[^\\n]*}")
+                ));
+    }
+
     @Test
     void deatilWithExsitedProduct() throws Exception {
         mockMvc.perform(
@@ -92,6 +466,50 @@ class ProductControllerTest {
                 .andExpect(content().string(containsString("쥐돌이")));
     }
 
+    @Test
+    void detailWithFields() throws Exception {
+        mockMvc.perform(
+                        get("/products/1")
+                                .param("fields", "id,name")
+                                .accept(MediaType.APPLICATION_JSON_UTF8)
+                )
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"id\":1,\"name\":\"쥐돌이\"}", true));
+
+        verify(productService).getProductFields(1L, List.of("id", "name", "version"));
+        verify(productService, never()).getProduct(1L);
+    }
+
+    @Test
+    void detailWithFieldsAndCurrentETag() throws Exception {
+        mockMvc.perform(
+                        get("/products/1")
+                                .param("fields", "id,name")
+                                .header("If-None-Match", "\"1-0\"")
+                )
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void detailWithETag() throws Exception {
+        mockMvc.perform(get("/products/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-0\""));
+    }
+
+    @Test
+    void detailWithCurrentETag() throws Exception {
+        mockMvc.perform(
+                        get("/products/1")
+                                .header("If-None-Match", "\"1-0\"")
+                )
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(productService).getProduct(1L);
+    }
+
     @Test
     void deatilWithNotExsitedProduct() throws Exception {
         mockMvc.perform(get("/products/1000"))
@@ -140,6 +558,39 @@ class ProductControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void createAll() throws Exception {
+        mockMvc.perform(
+                        post("/products/bulk")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("[" +
+                                        "{\"name\":\"쥐돌이\",\"maker\":\"냥이월드\",\"price\":5000}," +
+                                        "{\"name\":\"\",\"maker\":\"냥이월드\",\"price\":5000}," +
+                                        "{\"name\":\"쥐순이\",\"maker\":\"냥이월드\",\"price\":5000}" +
+                                        "]")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(201))
+                .andExpect(jsonPath("$[0].id").value(10))
+                .andExpect(jsonPath("$[1].status").value(400))
+                .andExpect(jsonPath("$[1].id").doesNotExist())
+                .andExpect(jsonPath("$[1].errors[0]").value(containsString("name")))
+                .andExpect(jsonPath("$[2].index").value(2))
+                .andExpect(jsonPath("$[2].status").value(201))
+                .andExpect(jsonPath("$[2].id").value(11));
+    }
+
+    @Test
+    void createAllAsProtobuf() throws Exception {
+        mockMvc.perform(
+                        post("/products/bulk")
+                                .accept(ProductProtobufHttpMessageConverter.APPLICATION_PROTOBUF)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("[{\"name\":\"쥐돌이\",\"maker\":\"냥이월드\",\"price\":5000}]")
+                )
+                .andExpect(status().isNotAcceptable());
+    }
+
     @Test
     void updateWithExistedProduct() throws Exception {
         mockMvc.perform(
@@ -180,6 +631,67 @@ class ProductControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void updateAll() throws Exception {
+        mockMvc.perform(
+                        patch("/products")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"filter\":{\"maker\":\"냥이월드\",\"maxPrice\":10000}," +
+                                        "\"operation\":\"SCALE_PRICE\",\"percent\":-10}")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updatedCount").value(2));
+
+        verify(productService).updateProducts(any(ProductBulkUpdateRequest.class));
+    }
+
+    @Test
+    void updateAllWithTooLargePercent() throws Exception {
+        mockMvc.perform(
+                        patch("/products")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"filter\":{\"maker\":\"냥이월드\"}," +
+                                        "\"operation\":\"SCALE_PRICE\",\"percent\":1001}")
+                )
+                .andExpect(status().isBadRequest());
+
+        verify(productService, never()).updateProducts(any());
+    }
+
+    @Test
+    void updateAllWithOutOfRangePrice() throws Exception {
+        given(productService.updateProducts(any(ProductBulkUpdateRequest.class)))
+                .willThrow(new ProductPriceOutOfRangeException(Integer.MAX_VALUE, 10));
+
+        mockMvc.perform(
+                        patch("/products")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"filter\":{\"maker\":\"냥이월드\"}," +
+                                        "\"operation\":\"SCALE_PRICE\",\"percent\":10}")
+                )
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void updateAllWithEmptyFilter() throws Exception {
+        mockMvc.perform(
+                        patch("/products")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"filter\":{},\"operation\":\"SET_PRICE\",\"price\":1000}")
+                )
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void updateAllWithoutOperationValue() throws Exception {
+        mockMvc.perform(
+                        patch("/products")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"filter\":{\"ids\":[1]},\"operation\":\"SET_MAKER\"}")
+                )
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void destroyWithExistedProduct() throws Exception {
         mockMvc.perform(delete("/products/1"))
@@ -195,4 +707,22 @@ class ProductControllerTest {
 
         verify(productService).deleteProduct(1000L);
     }
+
+    private List<String> versioned(List<String> fields) {
+        List<String> queryFields = new ArrayList<>(fields);
+        queryFields.add("version");
+        return queryFields;
+    }
+
+    private Map<String, Object> fields(Product product, List<String> fields) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        fields.forEach(field -> values.put(field, Map.of(
+                "id", product.getId(),
+                "name", product.getName(),
+                "maker", product.getMaker(),
+                "price", product.getPrice(),
+                "version", product.getVersion()
+        ).get(field)));
+        return values;
+    }
 }
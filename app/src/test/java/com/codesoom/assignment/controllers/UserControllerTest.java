@@ -1,7 +1,9 @@
 package com.codesoom.assignment.controllers;
 
 import com.codesoom.assignment.application.UserCommandService;
+import com.codesoom.assignment.config.ProductProtobufHttpMessageConverter;
 import com.codesoom.assignment.domain.User;
+import com.codesoom.assignment.domain.UserRepository;
 import com.codesoom.assignment.dto.UserCreateRequest;
 import com.codesoom.assignment.dto.UserUpdateRequest;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -14,12 +16,21 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -29,11 +40,18 @@ class UserControllerTest {
     @Autowired
     private UserCommandService userCommandService;
     @Autowired
+    private UserRepository userRepository;
+    @Autowired
     private MockMvc mockMvc;
 
     private final ObjectMapper objectMapper = new ObjectMapper();
     private final Long INVALID_USER_ID = 0L;
 
+    @BeforeEach
+    void clearUsers() {
+        userCommandService.deleteAll();
+    }
+
     @Nested
     @DisplayName("createUser 메서드는")
     class Describe_createUser {
@@ -68,7 +86,18 @@ class UserControllerTest {
                         .andExpect(status().isCreated())
                         .andExpect(jsonPath("$.email").value(requestUser.getEmail()))
                         .andExpect(jsonPath("$.name").value(requestUser.getName()))
-                        .andExpect(jsonPath("$.password").value(requestUser.getPassword()));
+                        .andExpect(jsonPath("$.password").doesNotExist());
+            }
+
+            @Test
+            @DisplayName("이미 사용 중인 email 이면 409 status 코드를 응답한다")
+            void it_returns_conflict_with_duplicated_email() throws Exception {
+                userCommandService.createUser(requestUser);
+
+                mockMvc.perform(post("/users")
+                                .content(requestBody)
+                                .contentType(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isConflict());
             }
         }
 
@@ -226,7 +255,7 @@ class UserControllerTest {
                                 .contentType(MediaType.APPLICATION_JSON))
                         .andExpect(status().isOk())
                         .andExpect(jsonPath("$.name").value(requestUser.getName()))
-                        .andExpect(jsonPath("$.password").value(requestUser.getPassword()));
+                        .andExpect(jsonPath("$.password").doesNotExist());
             }
         }
 
@@ -385,4 +414,206 @@ class UserControllerTest {
             }
         }
     }
+
+    @Nested
+    @DisplayName("deleteUsers 메서드는")
+    class Describe_deleteUsers {
+        private Long userId;
+
+        @BeforeEach
+        void setUp() {
+            User savedUser = userCommandService.createUser(
+                    UserCreateRequest.builder()
+                            .email("a@a.com")
+                            .name("김 코")
+                            .password("123")
+                            .build()
+            );
+            userId = savedUser.getId();
+        }
+
+        @Test
+        @DisplayName("body 로 주어진 id 들을 삭제하고 삭제 보고서를 응답한다")
+        void it_deletes_users_in_body() throws Exception {
+            mockMvc.perform(delete("/users")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[" + userId + "," + INVALID_USER_ID + "]"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.deletedSuccessIds[0]").value(userId))
+                    .andExpect(jsonPath("$.deletedFailIds[0]").value(INVALID_USER_ID));
+        }
+
+        @Test
+        @DisplayName("query 로 주어진 id 들을 삭제하고 삭제 보고서를 응답한다")
+        void it_deletes_users_in_query() throws Exception {
+            mockMvc.perform(delete("/users")
+                    .param("ids", userId + "," + INVALID_USER_ID))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.deletedSuccessIds[0]").value(userId))
+                    .andExpect(jsonPath("$.deletedFailIds[0]").value(INVALID_USER_ID));
+        }
+    }
+
+    @Nested
+    @DisplayName("importUsers 메서드는")
+    class Describe_importUsers {
+        @Nested
+        @DisplayName("NDJSON 이 주어진다면")
+        class Context_with_ndjson {
+            private final String requestBody = String.join("\n",
+                    "{\"email\":\"a@a.com\",\"name\":\"김 코\",\"password\":\"123\"}",
+                    "{\"email\":\"b@b.com\",\"name\":\"\",\"password\":\"123\"}",
+                    "{\"email\":{\"wrong\":1},\"name\":\"김 코\",\"password\":\"123\"}",
+                    "{\"email\":\"a@a.com\",\"name\":\"김 딩\",\"password\":\"123\"}",
+                    "{\"email\":\"c@c.com\",\"name\":\"김 딩\",\"password\":\"123\"}");
+
+            @AfterEach
+            void after() {
+                userCommandService.deleteAll();
+            }
+
+            @Test
+            @DisplayName("올바른 행을 저장하고 실패한 행과 결과를 응답한다")
+            void it_imports_valid_rows() throws Exception {
+                String content = mockMvc.perform(post("/users/import")
+                                .contentType("application/x-ndjson")
+                                .content(requestBody.getBytes(StandardCharsets.UTF_8)))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString();
+
+                String[] lines = content.split("\n");
+                assertThat(lines)
+                        .anyMatch(line -> line.contains("\"row\":2") && line.contains("\"status\":400"))
+                        .anyMatch(line -> line.contains("\"row\":3") && line.contains("\"status\":400"))
+                        .anyMatch(line -> line.contains("\"row\":4") && line.contains("\"status\":409"));
+                assertThat(lines[lines.length - 1])
+                        .contains("\"processed\":5", "\"imported\":2", "\"failed\":3", "\"done\":true");
+
+                assertThat(userRepository.existsByEmail("a@a.com")).isTrue();
+                assertThat(userRepository.existsByEmail("c@c.com")).isTrue();
+                assertThat(userRepository.existsByEmail("b@b.com")).isFalse();
+            }
+        }
+
+        @Nested
+        @DisplayName("CSV 가 주어진다면")
+        class Context_with_csv {
+            private final String requestBody = String.join("\n",
+                    "email,name,password",
+                    "a@a.com,김 코,123",
+                    "b@b.com,,123",
+                    "c@c.com,김 딩,456");
+
+            @AfterEach
+            void after() {
+                userCommandService.deleteAll();
+            }
+
+            @Test
+            @DisplayName("헤더 다음 행부터 저장하고 실패한 행과 결과를 응답한다")
+            void it_imports_valid_rows() throws Exception {
+                String content = mockMvc.perform(post("/users/import")
+                                .contentType("text/csv")
+                                .content(requestBody.getBytes(StandardCharsets.UTF_8)))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString();
+
+                String[] lines = content.split("\n");
+                assertThat(lines)
+                        .anyMatch(line -> line.contains("\"row\":2") && line.contains("\"status\":400"));
+                assertThat(lines[lines.length - 1])
+                        .contains("\"processed\":3", "\"imported\":2", "\"failed\":1", "\"done\":true");
+
+                assertThat(userRepository.existsByEmail("a@a.com")).isTrue();
+                assertThat(userRepository.existsByEmail("c@c.com")).isTrue();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("list 메서드는")
+    class Describe_list {
+        private final List<Long> userIds = new ArrayList<>();
+
+        @BeforeEach
+        void setUp() {
+            for (int i = 0; i < 3; i++) {
+                userIds.add(userCommandService.createUser(
+                        UserCreateRequest.builder()
+                                .email(i + "@a.com")
+                                .name("김 코" + i)
+                                .password("123")
+                                .build()
+                ).getId());
+            }
+        }
+
+        @AfterEach
+        void after() {
+            userCommandService.deleteAll();
+        }
+
+        @Test
+        @DisplayName("user 목록을 password 없이 응답하고 다음 페이지 주소를 Link 헤더로 알려준다")
+        void it_returns_page_with_next_link() throws Exception {
+            mockMvc.perform(get("/users").param("limit", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(2))
+                    .andExpect(jsonPath("$[0].id").value(userIds.get(0)))
+                    .andExpect(jsonPath("$[0].password").doesNotExist())
+                    .andExpect(header().string(HttpHeaders.LINK,
+                            containsString("after=" + userIds.get(1))));
+        }
+
+        @Test
+        @DisplayName("email 로 시작하는 user 만 응답한다")
+        void it_returns_users_with_email_prefix() throws Exception {
+            mockMvc.perform(get("/users").param("email", "1@"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1))
+                    .andExpect(jsonPath("$[0].id").value(userIds.get(1)))
+                    .andExpect(header().doesNotExist(HttpHeaders.LINK));
+        }
+
+        @Test
+        @DisplayName("protobuf 로 요청하면 406 status 코드를 응답한다")
+        void it_returns_not_acceptable_with_protobuf() throws Exception {
+            mockMvc.perform(get("/users")
+                            .accept(ProductProtobufHttpMessageConverter.APPLICATION_PROTOBUF))
+                    .andExpect(status().isNotAcceptable());
+        }
+    }
+
+    @Nested
+    @DisplayName("detail 메서드는")
+    class Describe_detail {
+        @AfterEach
+        void after() {
+            userCommandService.deleteAll();
+        }
+
+        @Test
+        @DisplayName("저장되어 있는 user 를 응답한다")
+        void it_returns_user() throws Exception {
+            User savedUser = userCommandService.createUser(
+                    UserCreateRequest.builder()
+                            .email("a@a.com")
+                            .name("김 코")
+                            .password("123")
+                            .build()
+            );
+
+            mockMvc.perform(get("/users/" + savedUser.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.email").value("a@a.com"))
+                    .andExpect(jsonPath("$.password").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("저장되어 있지 않은 user 의 id 면 404 status 코드를 응답한다")
+        void it_returns_not_found() throws Exception {
+            mockMvc.perform(get("/users/" + INVALID_USER_ID))
+                    .andExpect(status().isNotFound());
+        }
+    }
 }
@@ -0,0 +1,70 @@
+package com.codesoom.assignment.dto;
+
+import com.codesoom.assignment.domain.Product;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseSerializerTest {
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private final ObjectMapper beanObjectMapper = Jackson2ObjectMapperBuilder.json()
+            .mixIn(ProductResponse.class, BeanSerialized.class)
+            .mixIn(UserResponse.class, BeanSerialized.class)
+            .build();
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    abstract static class BeanSerialized {
+    }
+
+    private void assertSameAsBeanSerializer(Object value) throws Exception {
+        assertThat(objectMapper.readTree(objectMapper.writeValueAsString(value)))
+                .isEqualTo(objectMapper.readTree(beanObjectMapper.writeValueAsString(value)));
+    }
+
+    @Nested
+    @DisplayName("ProductResponseSerializer 는")
+    class Describe_ProductResponseSerializer {
+        @Test
+        @DisplayName("기본 BeanSerializer 와 같은 JSON 을 쓴다")
+        void it_writes_same_json() throws Exception {
+            assertSameAsBeanSerializer(List.of(
+                    new ProductResponse(Product.builder()
+                            .id(1L)
+                            .name("쥐돌이 \"특가\"")
+                            .maker("냥이월드")
+                            .price(5000)
+                            .imageUrl("https://example.com/1.png")
+                            .build()),
+                    new ProductResponse(Product.builder()
+                            .name("쥐순이")
+                            .build())
+            ));
+        }
+    }
+
+    @Nested
+    @DisplayName("UserResponseSerializer 는")
+    class Describe_UserResponseSerializer {
+        @Test
+        @DisplayName("기본 BeanSerializer 와 같은 JSON 을 쓴다")
+        void it_writes_same_json() throws Exception {
+            assertSameAsBeanSerializer(List.of(
+                    UserResponse.builder()
+                            .id(1L)
+                            .name("김 코")
+                            .email("a@a.com")
+                            .build(),
+                    UserResponse.builder().build()
+            ));
+        }
+    }
+}
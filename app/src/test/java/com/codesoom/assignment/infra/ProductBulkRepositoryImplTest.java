@@ -0,0 +1,55 @@
+package com.codesoom.assignment.infra;
+
+import com.codesoom.assignment.domain.Product;
+import com.codesoom.assignment.domain.ProductBulkOperation;
+import com.codesoom.assignment.domain.ProductFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class ProductBulkRepositoryImplTest {
+    @Autowired
+    private JpaProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long id;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAllInBatch();
+        id = productRepository.save(Product.builder()
+                .name("황금 쥐돌이")
+                .maker("냥이월드")
+                .price(2_000_000_000)
+                .build()).getId();
+    }
+
+    @Test
+    void scalePriceDoesNotOverflowInIntermediateValue() {
+        ProductFilter filter = ProductFilter.builder().ids(Set.of(id)).build();
+
+        productRepository.updateAll(filter, ProductBulkOperation.SCALE_PRICE, null, -10, null);
+        entityManager.clear();
+
+        assertThat(productRepository.findById(id).orElseThrow().getPrice()).isEqualTo(1_800_000_000);
+    }
+
+    @Test
+    void findMaxPriceBy() {
+        assertThat(productRepository.findMaxPriceBy(ProductFilter.builder().maker("냥이월드").build()))
+                .isEqualTo(2_000_000_000);
+        assertThat(productRepository.findMaxPriceBy(ProductFilter.builder().maker("코드숨").build()))
+                .isNull();
+    }
+}
@@ -0,0 +1,198 @@
+package com.codesoom.assignment.infra;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class ReplicaRoutingDataSourceTest {
+    private final DataSource primary = h2("routing_primary");
+    private final DataSource replica = h2("routing_replica");
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        use(List.of(replica), Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingDataSource.unbindClient();
+    }
+
+    private void use(List<DataSource> replicas, Duration maxLag) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replicas, maxLag, Duration.ofMinutes(1)));
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private String database() {
+        return jdbcTemplate.queryForObject("select database()", String.class);
+    }
+
+    private String readOnlyDatabase() {
+        return readOnly.execute(status -> database());
+    }
+
+    private String readWriteDatabase() {
+        return readWrite.execute(status -> database());
+    }
+
+    @Nested
+    @DisplayName("getConnection 메서드는")
+    class Describe_getConnection {
+        @Test
+        @DisplayName("읽기 전용 트랜잭션이면 복제본에 연결한다")
+        void it_routes_read_only_to_replica() {
+            assertThat(readOnlyDatabase()).isEqualTo("ROUTING_REPLICA");
+        }
+
+        @Test
+        @DisplayName("쓰기 트랜잭션이나 트랜잭션 밖이면 primary 에 연결한다")
+        void it_routes_others_to_primary() {
+            assertThat(readWriteDatabase()).isEqualTo("ROUTING_PRIMARY");
+            assertThat(database()).isEqualTo("ROUTING_PRIMARY");
+        }
+
+        @Test
+        @DisplayName("onPrimary 안에서는 읽기 전용 트랜잭션도 primary 에 연결한다")
+        void it_routes_on_primary_to_primary() {
+            String database = ReplicaRoutingDataSource.onPrimary(() -> readOnlyDatabase());
+
+            assertThat(database).isEqualTo("ROUTING_PRIMARY");
+            assertThat(readOnlyDatabase()).isEqualTo("ROUTING_REPLICA");
+        }
+
+        @Test
+        @DisplayName("복제본이 여러 개면 번갈아 연결한다")
+        void it_rotates_replicas() {
+            use(List.of(replica, h2("routing_replica2")), Duration.ZERO);
+
+            Set<String> databases = IntStream.range(0, 4)
+                    .mapToObj(index -> readOnlyDatabase())
+                    .collect(Collectors.toSet());
+
+            assertThat(databases).containsExactlyInAnyOrder("ROUTING_REPLICA", "ROUTING_REPLICA2");
+        }
+    }
+
+    @Nested
+    @DisplayName("쓰기 트랜잭션이 커밋된 뒤")
+    class Describe_after_write {
+        @Test
+        @DisplayName("maxLag 동안은 읽기 전용 트랜잭션도 primary 에 연결한다")
+        void it_reads_from_primary_within_max_lag() {
+            use(List.of(replica), Duration.ofMinutes(1));
+            assertThat(readOnlyDatabase()).isEqualTo("ROUTING_REPLICA");
+
+            readWriteDatabase();
+
+            assertThat(readOnlyDatabase()).isEqualTo("ROUTING_PRIMARY");
+        }
+
+        @Test
+        @DisplayName("maxLag 가 지나면 복제본에 연결한다")
+        void it_reads_from_replica_after_max_lag() {
+            use(List.of(replica), Duration.ofMillis(50));
+            readWriteDatabase();
+            assertThat(readOnlyDatabase()).isEqualTo("ROUTING_PRIMARY");
+
+            await(Duration.ofMillis(100));
+
+            assertThat(readOnlyDatabase()).isEqualTo("ROUTING_REPLICA");
+        }
+
+        @Test
+        @DisplayName("다른 클라이언트의 읽기 전용 트랜잭션은 복제본에 연결한다")
+        void it_keeps_other_clients_on_replica() {
+            use(List.of(replica), Duration.ofMinutes(1));
+            ReplicaRoutingDataSource.bindClient(0L, millis -> {
+            });
+            readWriteDatabase();
+            assertThat(readOnlyDatabase()).isEqualTo("ROUTING_PRIMARY");
+
+            ReplicaRoutingDataSource.bindClient(0L, millis -> {
+            });
+
+            assertThat(readOnlyDatabase()).isEqualTo("ROUTING_REPLICA");
+        }
+
+        @Test
+        @DisplayName("커밋한 시각을 클라이언트에 알려 준다")
+        void it_reports_write_to_client() {
+            use(List.of(replica), Duration.ofMinutes(1));
+            List<Long> writes = new ArrayList<>();
+            ReplicaRoutingDataSource.bindClient(0L, writes::add);
+
+            long before = System.currentTimeMillis();
+            readWriteDatabase();
+
+            assertThat(writes).hasSize(1);
+            assertThat(writes.get(0)).isGreaterThanOrEqualTo(before);
+        }
+
+        @Test
+        @DisplayName("클라이언트가 maxLag 안에 쓴 적이 있으면 읽기 전용 트랜잭션도 primary 에 연결한다")
+        void it_reads_from_primary_for_recent_client() {
+            use(List.of(replica), Duration.ofMinutes(1));
+
+            ReplicaRoutingDataSource.bindClient(System.currentTimeMillis(), millis -> {
+            });
+
+            assertThat(readOnlyDatabase()).isEqualTo("ROUTING_PRIMARY");
+        }
+
+        private void await(Duration duration) {
+            try {
+                Thread.sleep(duration.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("복제본에 연결할 수 없으면")
+    class Describe_replica_down {
+        @Test
+        @DisplayName("primary 에 연결한다")
+        void it_falls_back_to_primary() throws SQLException {
+            DataSource down = mock(DataSource.class);
+            given(down.getConnection()).willThrow(new SQLException("replica is down"));
+            use(List.of(down), Duration.ZERO);
+
+            assertThat(readOnlyDatabase()).isEqualTo("ROUTING_PRIMARY");
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.codesoom.assignment.infra;
+
+import com.codesoom.assignment.application.ProductService;
+import com.codesoom.assignment.domain.Product;
+import com.codesoom.assignment.domain.ProductBulkOperation;
+import com.codesoom.assignment.domain.ProductFilter;
+import com.codesoom.assignment.dto.ProductBulkUpdateRequest;
+import com.codesoom.assignment.dto.ProductData;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class SecondLevelCacheTest {
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private JpaProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ProductData productData = ProductData.builder()
+            .name("쥐돌이")
+            .maker("냥이월드")
+            .price(5000)
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        productService.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    private Statistics startStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        return statistics;
+    }
+
+    private long hitCount(Statistics statistics, String region) {
+        return statistics.getDomainDataRegionStatistics(region).getHitCount();
+    }
+
+    private <T> T inTransaction(Supplier<T> supplier) {
+        return new TransactionTemplate(transactionManager).execute(status -> supplier.get());
+    }
+
+    private Optional<Product> loadProduct(Long id) {
+        return inTransaction(() -> productRepository.findById(id));
+    }
+
+    private List<Product> productsByPrice() {
+        return productService.getProductsByPrice(0, 10000, Sort.Direction.ASC, 10);
+    }
+
+    @Test
+    void findByIdIsServedFromCache() {
+        Long id = productService.createProduct(productData).getId();
+        Statistics statistics = startStatistics();
+
+        loadProduct(id);
+        loadProduct(id);
+
+        assertThat(hitCount(statistics, Product.CACHE_REGION)).isEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void updateProductIsVisibleThroughCache() {
+        Long id = productService.createProduct(productData).getId();
+        loadProduct(id);
+
+        productService.updateProduct(id, ProductData.builder()
+                .name("쥐순이")
+                .maker("냥이월드")
+                .price(6000)
+                .build());
+
+        Statistics statistics = startStatistics();
+        Product product = loadProduct(id).orElseThrow();
+
+        assertThat(product.getName()).isEqualTo("쥐순이");
+        assertThat(product.getPrice()).isEqualTo(6000);
+        assertThat(hitCount(statistics, Product.CACHE_REGION)).isEqualTo(1);
+    }
+
+    @Test
+    void rolledBackChangeIsNotCached() {
+        Long id = productService.createProduct(productData).getId();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            productRepository.findById(id).orElseThrow()
+                    .change("쥐순이", "냥이월드", 6000, null);
+            entityManager.flush();
+            status.setRollbackOnly();
+        });
+
+        assertThat(loadProduct(id).orElseThrow().getName()).isEqualTo("쥐돌이");
+    }
+
+    @Test
+    void deletedProductIsNotServedFromCache() {
+        Long id = productService.createProduct(productData).getId();
+        loadProduct(id);
+
+        productService.deleteProduct(id);
+
+        assertThat(loadProduct(id)).isEmpty();
+    }
+
+    @Test
+    void bulkUpdateEvictsEntities() {
+        Long id = productService.createProduct(productData).getId();
+        loadProduct(id);
+
+        productService.updateProducts(ProductBulkUpdateRequest.builder()
+                .filter(ProductFilter.builder().ids(Set.of(id)).build())
+                .operation(ProductBulkOperation.SET_PRICE)
+                .price(7000)
+                .build());
+
+        assertThat(loadProduct(id).orElseThrow().getPrice()).isEqualTo(7000);
+    }
+
+    @Test
+    void exportDoesNotFillCache() {
+        Long id = productService.createProduct(productData).getId();
+        entityManagerFactory.getCache().evictAll();
+
+        productService.exportProducts(product -> {
+        });
+
+        assertThat(entityManagerFactory.getCache().contains(Product.class, id)).isFalse();
+    }
+
+    @Test
+    void productListQueryIsCached() {
+        productService.createProduct(productData);
+        productsByPrice();
+
+        Statistics statistics = startStatistics();
+        List<Product> products = productsByPrice();
+
+        assertThat(products).hasSize(1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void createProductInvalidatesProductListQuery() {
+        productService.createProduct(productData);
+        productsByPrice();
+
+        productService.createProduct(productData);
+
+        Statistics statistics = startStatistics();
+
+        assertThat(productsByPrice()).hasSize(2);
+        assertThat(statistics.getQueryCacheHitCount()).isZero();
+    }
+
+    @Test
+    void deleteProductInvalidatesProductListQuery() {
+        Long id = productService.createProduct(productData).getId();
+        productsByPrice();
+
+        productService.deleteProduct(id);
+
+        assertThat(productsByPrice()).isEmpty();
+    }
+}
@@ -0,0 +1,38 @@
+package com.codesoom.assignment.infra;
+
+import com.codesoom.assignment.application.UserCommandService;
+import com.codesoom.assignment.domain.User;
+import com.codesoom.assignment.domain.UserRepository;
+import com.codesoom.assignment.dto.UserCreateRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * IDENTITY 로 만든 user 1..60 이 이미 있는 DB 에서 시작합니다.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:identity-era;DB_CLOSE_DELAY=-1;"
+        + "INIT=RUNSCRIPT FROM 'classpath:identity-era-users.sql'")
+class UserIdSequenceInitializerTest {
+    @Autowired
+    private UserCommandService userCommandService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void createUserAfterIdentityEraUsers() {
+        User user = userCommandService.createUser(UserCreateRequest.builder()
+                .email("new@example.com")
+                .name("김 코")
+                .password("password")
+                .build());
+
+        assertThat(user.getId()).isGreaterThan(60L);
+        assertThat(userRepository.count()).isEqualTo(61);
+        assertThat(userRepository.findById(1L).orElseThrow().getEmail())
+                .isEqualTo("identity1@example.com");
+    }
+}
@@ -0,0 +1,9 @@
+-- User.id 가 IDENTITY 이던 때의 테이블과 user 1..60 입니다. 연결마다 실행되므로 여러 번 실행해도 같은 결과가 되게 씁니다.
+create table if not exists user (
+    id bigint generated by default as identity primary key,
+    email varchar(255),
+    name varchar(255),
+    password varchar(255)
+);
+merge into user (id, email, name, password) key (id)
+    select x, concat('identity', x, '@example.com'), 'identity', 'password' from system_range(1, 60);
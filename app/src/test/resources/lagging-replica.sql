@@ -0,0 +1,9 @@
+-- 복제가 멈춘 복제본의 상품 테이블입니다. 연결마다 실행되므로 여러 번 실행해도 같은 결과가 되게 씁니다.
+create table if not exists product (
+    id bigint primary key,
+    name varchar(255),
+    maker varchar(255),
+    price integer,
+    image_url varchar(255),
+    version bigint default 0 not null
+);
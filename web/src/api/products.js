@@ -1,7 +1,7 @@
 import axios from 'axios';
 
 export const fetchProducts = async () => {
-  const { data } = await axios.get('http://localhost:8080/products');
+  const { data } = await axios.get('http://localhost:8080/products?all=true');
   return data;
 };
 